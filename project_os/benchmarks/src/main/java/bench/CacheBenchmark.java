@@ -0,0 +1,104 @@
+package bench;
+
+import cache.Eviction;
+import cache.StripedCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Read-mostly cache traffic from many threads: each operation is a get, followed by
+ * a put on a miss, over Zipf-distributed keys. {@code SYNCHRONIZED} is the
+ * global-lock baseline (an access-ordered {@link LinkedHashMap} behind
+ * {@link Collections#synchronizedMap}); the others are {@link StripedCache}.
+ * Runs with 64 threads by default; override with {@code -t}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(64)
+public class CacheBenchmark {
+
+    static final int KEYS_PER_THREAD = 1 << 16;
+
+    @Param({"STRIPED_LRU", "STRIPED_CLOCK", "STRIPED_LFU", "SYNCHRONIZED"})
+    public String cache;
+
+    @Param({"1024", "65536"})
+    public int capacity;
+
+    private Map<Integer, Integer> synchronizedMap;
+    private StripedCache<Integer, Integer> striped;
+    private final AtomicInteger nextSeed = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        if (cache.equals("SYNCHRONIZED")) {
+            int max = capacity;
+            synchronizedMap = Collections.synchronizedMap(new LinkedHashMap<Integer, Integer>(16, 0.75f, true) {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Integer, Integer> eldest) {
+                    return size() > max;
+                }
+            });
+        } else {
+            striped = new StripedCache<>(capacity, Eviction.valueOf(cache.substring("STRIPED_".length())));
+        }
+    }
+
+    /** Each thread replays its own key sequence, boxed once in setup. */
+    @State(Scope.Thread)
+    public static class Keys {
+        Integer[] keys;
+        int position;
+
+        @Setup(Level.Trial)
+        public void setUp(CacheBenchmark benchmark) {
+            int[] pages = Workload.ZIPF.generate(benchmark.capacity, KEYS_PER_THREAD, benchmark.nextSeed.incrementAndGet());
+            keys = new Integer[pages.length];
+            for (int i = 0; i < pages.length; i++) {
+                keys[i] = pages[i];
+            }
+        }
+
+        Integer next() {
+            Integer key = keys[position];
+            position = (position + 1) & (KEYS_PER_THREAD - 1);
+            return key;
+        }
+    }
+
+    @Benchmark
+    public Integer getOrPut(Keys keys) {
+        Integer key = keys.next();
+        if (striped != null) {
+            Integer value = striped.get(key);
+            if (value == null) striped.put(key, key);
+            return value;
+        }
+        Integer value = synchronizedMap.get(key);
+        if (value == null) synchronizedMap.put(key, key);
+        return value;
+    }
+}
@@ -0,0 +1,72 @@
+package bench;
+
+import Clock.ClockManager;
+import LRU.LRUCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Baseline for the original scanning implementations ({@link ClockManager} and
+ * {@link LRUCache}), which are O(frames) per reference and therefore only
+ * measured up to 1024 frames.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LegacyBenchmark {
+
+    static final int TRACE_LENGTH = 1 << 16;
+
+    @Param({"4", "64", "1024"})
+    public int frames;
+
+    @Param({"UNIFORM", "ZIPF", "LOOPING"})
+    public Workload workload;
+
+    private int[] trace;
+    private ClockManager clock;
+    private LRUCache lru;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        trace = workload.generate(frames, TRACE_LENGTH, 42L);
+        clock = new ClockManager(frames);
+        lru = new LRUCache(frames);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TRACE_LENGTH)
+    public int clockManager() {
+        int hits = 0;
+        for (int page : trace) {
+            if (clock.access(page)) hits++;
+        }
+        return hits;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TRACE_LENGTH)
+    public int lruCache() {
+        int hits = 0;
+        for (int page : trace) {
+            if (lru.access(page)) hits++;
+        }
+        return hits;
+    }
+}
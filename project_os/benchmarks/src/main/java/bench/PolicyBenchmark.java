@@ -0,0 +1,79 @@
+package bench;
+
+import engine.PolicyType;
+import engine.ReplacementPolicy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the headless policies in references per second.
+ * <p>
+ * Each invocation replays the next {@value #SEGMENT_LENGTH}-reference segment of
+ * a trace at least {@value #TRACE_MULTIPLE} times the frame count, through a policy
+ * that was warmed to steady state on the whole trace in setup. The trace is long
+ * enough to cycle the working set through memory, so even the largest memories
+ * keep faulting instead of settling into all hits. Run with {@code -prof gc} to
+ * get the allocation rate ({@code gc.alloc.rate.norm} is bytes per reference).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PolicyBenchmark {
+
+    static final int SEGMENT_LENGTH = 1 << 20;
+    static final int TRACE_MULTIPLE = 8;
+
+    @Param({"CLOCK", "LFU", "LRU", "MFU", "FIFO", "ARC", "TWOQ", "LIRS"})
+    public PolicyType policy;
+
+    @Param({"4", "64", "1024", "65536", "1000000"})
+    public int frames;
+
+    @Param({"UNIFORM", "ZIPF", "LOOPING"})
+    public Workload workload;
+
+    private int[] trace;
+    private int segment;
+    private ReplacementPolicy instance;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // A whole number of segments, at least TRACE_MULTIPLE x frames
+        int segments = (int) (((long) TRACE_MULTIPLE * frames + SEGMENT_LENGTH - 1) / SEGMENT_LENGTH);
+        trace = workload.generate(frames, segments * SEGMENT_LENGTH, 42L);
+        segment = 0;
+        instance = policy.create(frames);
+        for (int page : trace) instance.access(page);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SEGMENT_LENGTH)
+    public int replay() {
+        ReplacementPolicy p = instance;
+        int[] pages = trace;
+        int from = segment * SEGMENT_LENGTH;
+        int to = from + SEGMENT_LENGTH;
+        segment = (to == pages.length) ? 0 : segment + 1;
+        int hits = 0;
+        for (int i = from; i < to; i++) {
+            if (p.access(pages[i])) hits++;
+        }
+        return hits;
+    }
+}
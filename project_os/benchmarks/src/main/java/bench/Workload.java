@@ -0,0 +1,44 @@
+package bench;
+
+import engine.PageStream;
+import workload.LoopWorkload;
+import workload.UniformWorkload;
+import workload.ZipfWorkload;
+
+/**
+ * Reference-string shapes used by the benchmarks. Traces are drawn from the
+ * {@code workload} generators once in setup and kept as arrays, so generation
+ * cost never shows up in the measurements.
+ */
+public enum Workload {
+    /** Every page of a universe twice the frame count is equally likely. */
+    UNIFORM {
+        @Override
+        PageStream stream(int frames, int length, long seed) {
+            return new UniformWorkload(2 * frames, length, seed);
+        }
+    },
+    /** Zipf(1.0) popularity over a universe four times the frame count. */
+    ZIPF {
+        @Override
+        PageStream stream(int frames, int length, long seed) {
+            return new ZipfWorkload(4 * frames, 1.0, length, seed);
+        }
+    },
+    /** Cyclic scan over 10% more pages than fit: the worst case for LRU and FIFO. */
+    LOOPING {
+        @Override
+        PageStream stream(int frames, int length, long seed) {
+            return new LoopWorkload(frames + Math.max(1, frames / 10), length);
+        }
+    };
+
+    abstract PageStream stream(int frames, int length, long seed);
+
+    int[] generate(int frames, int length, long seed) {
+        PageStream stream = stream(frames, length, seed);
+        int[] pages = new int[length];
+        for (int i = 0; i < length; i++) pages[i] = stream.nextPage();
+        return pages;
+    }
+}
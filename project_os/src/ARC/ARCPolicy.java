@@ -0,0 +1,217 @@
+package ARC;
+
+import checkpoint.Checkpointable;
+import checkpoint.SnapshotInput;
+import checkpoint.SnapshotOutput;
+import engine.ReplacementPolicy;
+import utils.IntIntMap;
+
+/**
+ * Adaptive Replacement Cache (Megiddo and Modha).
+ * <p>
+ * Resident pages are split between T1 (seen once recently) and T2 (seen at least
+ * twice). Ghost lists B1 and B2 remember the IDs of pages recently evicted from
+ * T1 and T2. A hit in B1 means T1 was too small, so the target size {@code p}
+ * of T1 grows; a hit in B2 shrinks it. The cache therefore shifts between LRU-like
+ * and LFU-like behaviour on its own.
+ * <p>
+ * All four lists share one pool of {@code 2 * frames} nodes held in int arrays
+ * (ARC never tracks more than that), with a primitive page→node index. Every
+ * operation is O(1) and nothing is allocated after construction; the ghost lists
+ * are bounded by the pool.
+ */
+public class ARCPolicy implements ReplacementPolicy, Checkpointable {
+
+    private static final int NIL = -1;
+    private static final int T1 = 0;
+    private static final int T2 = 1;
+    private static final int B1 = 2;
+    private static final int B2 = 3;
+
+    private final int c;
+
+    // Node pool
+    private final int[] pageOf;
+    private final int[] listOf;
+    private final int[] prev;      // towards MRU
+    private final int[] next;      // towards LRU
+    private final IntIntMap index; // page ID -> node
+    private int freeNode = NIL;    // free list threaded through next
+
+    // Lists: head = MRU, tail = LRU
+    private final int[] head = {NIL, NIL, NIL, NIL};
+    private final int[] tail = {NIL, NIL, NIL, NIL};
+    private final int[] size = new int[4];
+
+    private int p = 0; // target size of T1
+
+    public ARCPolicy(int frames) {
+        if (frames <= 0) throw new IllegalArgumentException("Number of frames must be greater than 0.");
+        this.c = frames;
+        int nodes = 2 * frames;
+        this.pageOf = new int[nodes];
+        this.listOf = new int[nodes];
+        this.prev = new int[nodes];
+        this.next = new int[nodes];
+        this.index = new IntIntMap(nodes);
+        for (int n = nodes - 1; n >= 0; n--) {
+            next[n] = freeNode;
+            freeNode = n;
+        }
+    }
+
+    @Override
+    public boolean access(int page) {
+        int node = index.get(page);
+
+        if (node != IntIntMap.MISSING) {
+            int list = listOf[node];
+
+            // Case I: resident hit -> MRU of T2
+            if (list == T1 || list == T2) {
+                unlink(node);
+                pushMru(T2, node);
+                return true;
+            }
+
+            // Case II: ghost hit in B1 -> favour recency
+            if (list == B1) {
+                p = Math.min(c, p + Math.max(size[B2] / size[B1], 1));
+                replace(false);
+            } else {
+                // Case III: ghost hit in B2 -> favour frequency
+                p = Math.max(0, p - Math.max(size[B1] / size[B2], 1));
+                replace(true);
+            }
+            unlink(node);
+            pushMru(T2, node);
+            return false;
+        }
+
+        // Case IV: complete miss
+        int l1 = size[T1] + size[B1];
+        if (l1 == c) {
+            if (size[T1] < c) {
+                release(tail[B1]);
+                replace(false);
+            } else {
+                release(tail[T1]);
+            }
+        } else {
+            int total = l1 + size[T2] + size[B2];
+            if (total >= c) {
+                if (total == 2 * c) release(tail[B2]);
+                replace(false);
+            }
+        }
+
+        node = freeNode;
+        freeNode = next[node];
+        pageOf[node] = page;
+        index.put(page, node);
+        pushMru(T1, node);
+        return false;
+    }
+
+    /** Demotes the LRU page of T1 or T2 to its ghost list, freeing one frame. */
+    private void replace(boolean hitInB2) {
+        int t1 = size[T1];
+        if (t1 >= 1 && ((hitInB2 && t1 == p) || t1 > p)) {
+            int victim = tail[T1];
+            unlink(victim);
+            pushMru(B1, victim);
+        } else {
+            int victim = tail[T2];
+            unlink(victim);
+            pushMru(B2, victim);
+        }
+    }
+
+    /** Forgets a node entirely (used for ghost LRU entries, or T1's LRU when B1 is empty). */
+    private void release(int node) {
+        unlink(node);
+        index.remove(pageOf[node]);
+        next[node] = freeNode;
+        freeNode = node;
+    }
+
+    private void unlink(int node) {
+        int list = listOf[node];
+        int pv = prev[node];
+        int nx = next[node];
+        if (pv != NIL) next[pv] = nx; else head[list] = nx;
+        if (nx != NIL) prev[nx] = pv; else tail[list] = pv;
+        size[list]--;
+    }
+
+    private void pushMru(int list, int node) {
+        listOf[node] = list;
+        prev[node] = NIL;
+        next[node] = head[list];
+        if (head[list] != NIL) prev[head[list]] = node; else tail[list] = node;
+        head[list] = node;
+        size[list]++;
+    }
+
+    /** @return current target size of T1 (the adaptation parameter) */
+    public int getTarget() {
+        return p;
+    }
+
+    @Override
+    public int copyFrames(int[] dest, int offset, int max) {
+        int n = 0;
+        for (int list = T1; list <= T2; list++) {
+            for (int node = head[list]; node != NIL && n < max; node = next[node]) {
+                dest[offset + n++] = pageOf[node];
+            }
+        }
+        return n;
+    }
+
+    @Override
+    public int getFrameCount() {
+        return c;
+    }
+
+    @Override
+    public String getName() {
+        return "ARC";
+    }
+
+    @Override
+    public void saveState(SnapshotOutput out) {
+        out.writeInts(pageOf);
+        out.writeInts(listOf);
+        out.writeInts(prev);
+        out.writeInts(next);
+        out.writeInt(freeNode);
+        out.writeInts(head);
+        out.writeInts(tail);
+        out.writeInts(size);
+        out.writeInt(p);
+    }
+
+    @Override
+    public void restoreState(SnapshotInput in) {
+        in.readInts(pageOf);
+        in.readInts(listOf);
+        in.readInts(prev);
+        in.readInts(next);
+        freeNode = in.readInt();
+        in.readInts(head);
+        in.readInts(tail);
+        in.readInts(size);
+        p = in.readInt();
+
+        // Every node off the free list is in one of the four lists, and so in the index
+        boolean[] free = new boolean[pageOf.length];
+        for (int n = freeNode; n != NIL; n = next[n]) {
+            free[n] = true;
+        }
+        index.clear();
+        for (int n = 0; n < pageOf.length; n++) {
+            if (!free[n]) index.put(pageOf[n], n);
+        }
+    }
+}
@@ -1,10 +1,18 @@
 package Clock;
 
-public class ClockManager {
+import checkpoint.Checkpointable;
+import checkpoint.SnapshotInput;
+import checkpoint.SnapshotOutput;
+import engine.ReplacementPolicy;
+import metrics.HandCounter;
+import metrics.Metrics;
+
+public class ClockManager implements ReplacementPolicy, HandCounter, Checkpointable {
     private PageFrame[] frames;
     private int pointer; // The "Clock Hand"
     private int pageFaults;
     private int totalRequests;
+    private long handAdvances; // counted only with metrics on
 
     public ClockManager(int frameCount) {
         frames = new PageFrame[frameCount];
@@ -17,25 +25,37 @@ public class ClockManager {
     }
 
     public void accessPage(int requestedPage) {
-        totalRequests++;
         System.out.println("\nRequesting Page: " + requestedPage);
 
+        if (access(requestedPage)) {
+            System.out.println("Result: HIT");
+        } else {
+            System.out.println("Result: PAGE FAULT");
+        }
+        displayMemory();
+    }
+
+    /**
+     * Headless version of {@link #accessPage(int)}: same Clock logic, no output.
+     */
+    @Override
+    public boolean access(int requestedPage) {
+        totalRequests++;
+
         // 1. Check for a HIT
         for (int i = 0; i < frames.length; i++) {
             if (frames[i].pageId == requestedPage) {
                 frames[i].referenceBit = 1; // Set reference bit on hit
-                System.out.println("Result: HIT");
-                displayMemory();
-                return;
+                return true;
             }
         }
 
         // 2. Handle a MISS (Page Fault)
         pageFaults++;
-        System.out.println("Result: PAGE FAULT");
 
         while (true) {
             PageFrame currentFrame = frames[pointer];
+            if (Metrics.ENABLED) handAdvances++;
 
             if (currentFrame.referenceBit == 0) {
                 // Replace this page (or fill empty slot)
@@ -44,14 +64,32 @@ public class ClockManager {
 
                 // Move hand forward after replacement
                 pointer = (pointer + 1) % frames.length;
-                break;
+                return false;
             } else {
                 // Give a second chance
                 currentFrame.referenceBit = 0;
                 pointer = (pointer + 1) % frames.length;
             }
         }
-        displayMemory();
+    }
+
+    @Override
+    public int getFrameCount() {
+        return frames.length;
+    }
+
+    @Override
+    public String getName() {
+        return "Clock";
+    }
+
+    public int getPageFaults() {
+        return pageFaults;
+    }
+
+    @Override
+    public long getHandAdvances() {
+        return handAdvances;
     }
 
     public void displayMemory() {
@@ -71,5 +109,34 @@ public class ClockManager {
         double faultRate = ((double) pageFaults / totalRequests) * 100;
         System.out.printf("Fault Rate: %.2f%%\n", faultRate);
     }
-}
 
+    @Override
+    public void saveState(SnapshotOutput out) {
+        int[] pageIds = new int[frames.length];
+        int[] referenceBits = new int[frames.length];
+        for (int i = 0; i < frames.length; i++) {
+            pageIds[i] = frames[i].pageId;
+            referenceBits[i] = frames[i].referenceBit;
+        }
+        out.writeInts(pageIds);
+        out.writeInts(referenceBits);
+        out.writeInt(pointer);
+        out.writeInt(pageFaults);
+        out.writeInt(totalRequests);
+    }
+
+    @Override
+    public void restoreState(SnapshotInput in) {
+        int[] pageIds = new int[frames.length];
+        int[] referenceBits = new int[frames.length];
+        in.readInts(pageIds);
+        in.readInts(referenceBits);
+        for (int i = 0; i < frames.length; i++) {
+            frames[i].pageId = pageIds[i];
+            frames[i].referenceBit = referenceBits[i];
+        }
+        pointer = in.readInt();
+        pageFaults = in.readInt();
+        totalRequests = in.readInt();
+    }
+}
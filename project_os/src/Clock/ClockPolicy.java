@@ -0,0 +1,166 @@
+package Clock;
+
+import checkpoint.Checkpointable;
+import checkpoint.SnapshotInput;
+import checkpoint.SnapshotOutput;
+import engine.ReplacementPolicy;
+import metrics.HandCounter;
+import metrics.Metrics;
+import utils.IntArray;
+import utils.IntIntTable;
+import utils.Storage;
+
+import java.util.function.IntConsumer;
+
+/**
+ * Struct-of-arrays Clock (Second Chance) engine with the same rules as
+ * {@link ClockManager}.
+ * <p>
+ * Page IDs live in an int array, reference bits are packed 32 per int, and a
+ * primitive page→slot index makes hit detection O(1). On a fault the hand sweeps
+ * whole bit words at a time: every set bit it passes is cleared (the second chance)
+ * and the first clear bit at or after the hand is the victim. The arrays are on
+ * the heap or, for very large memories, off it (see {@link Storage}).
+ */
+public class ClockPolicy implements ReplacementPolicy, HandCounter, Checkpointable {
+
+    private static final int EMPTY = -1;
+
+    private final int frameCount;
+    private final IntArray pages;      // slot -> page ID (EMPTY if unused)
+    private final IntArray refBits;    // packed reference bits, bit i = slot i
+    private final int lastWord;
+    private final int lastWordMask;    // valid bits of the last word
+    private final IntIntTable index;   // page ID -> slot
+
+    private int hand = 0;              // The "Clock Hand"
+    private int used = 0;
+    private long handAdvances = 0;     // counted only with metrics on
+
+    public ClockPolicy(int frameCount) {
+        this(frameCount, Storage.HEAP);
+    }
+
+    public ClockPolicy(int frameCount, Storage storage) {
+        if (frameCount <= 0) throw new IllegalArgumentException("Number of frames must be greater than 0.");
+        this.frameCount = frameCount;
+        this.pages = storage.ints(frameCount);
+        pages.fill(EMPTY);
+        this.refBits = storage.ints((frameCount + 31L) >>> 5);
+        this.lastWord = (int) (refBits.length() - 1);
+        int tail = frameCount & 31;
+        this.lastWordMask = (tail == 0) ? -1 : (1 << tail) - 1;
+        this.index = storage.table(frameCount);
+    }
+
+    @Override
+    public boolean access(int page) {
+        int slot = index.get(page);
+
+        // 1. HIT: set the reference bit
+        if (slot != IntIntTable.MISSING) {
+            setBit(slot);
+            return true;
+        }
+
+        // 2. FAULT: sweep to the first frame without a reference bit
+        slot = sweep();
+        int old = pages.get(slot);
+        if (old != EMPTY) index.remove(old); else used++;
+        pages.set(slot, page);
+        index.put(page, slot);
+        setBit(slot);
+
+        // Move hand forward after replacement
+        hand = (slot + 1 == frameCount) ? 0 : slot + 1;
+        return false;
+    }
+
+    private void setBit(int slot) {
+        int w = slot >>> 5;
+        refBits.set(w, refBits.get(w) | (1 << slot));
+    }
+
+    /**
+     * Advances from the hand to the first clear reference bit, clearing every set
+     * bit on the way. Terminates within one revolution because a full revolution
+     * clears all bits.
+     */
+    private int sweep() {
+        int h = hand;
+        while (true) {
+            int w = h >>> 5;
+            int word = refBits.get(w);
+            int fromHand = -1 << h;
+            if (w == lastWord) fromHand &= lastWordMask;
+
+            int clear = ~word & fromHand;
+            if (clear != 0) {
+                int bit = Integer.numberOfTrailingZeros(clear);
+                // Bits between the hand and the victim were all set: second chance
+                refBits.set(w, word & ~(fromHand & ((1 << bit) - 1)));
+                if (Metrics.ENABLED) handAdvances += (w << 5) + bit - h + 1;
+                return (w << 5) + bit;
+            }
+
+            refBits.set(w, word & ~fromHand);
+            int next = (w == lastWord) ? 0 : (w + 1) << 5;
+            if (Metrics.ENABLED) handAdvances += (next == 0 ? frameCount : next) - h;
+            h = next;
+        }
+    }
+
+    @Override
+    public int copyFrames(int[] dest, int offset, int max) {
+        // Frames fill in order and are never emptied, so residents are a prefix
+        int n = Math.min(used, max);
+        pages.copyTo(0, dest, offset, n);
+        return n;
+    }
+
+    @Override
+    public void forEachFrame(IntConsumer action) {
+        for (int i = 0; i < used; i++) {
+            action.accept(pages.get(i));
+        }
+    }
+
+    public int getHand() {
+        return hand;
+    }
+
+    @Override
+    public long getHandAdvances() {
+        return handAdvances;
+    }
+
+    @Override
+    public int getFrameCount() {
+        return frameCount;
+    }
+
+    @Override
+    public String getName() {
+        return "Clock";
+    }
+
+    @Override
+    public void saveState(SnapshotOutput out) {
+        out.writeInts(pages);
+        out.writeInts(refBits);
+        out.writeInt(hand);
+        out.writeInt(used);
+    }
+
+    @Override
+    public void restoreState(SnapshotInput in) {
+        in.readInts(pages);
+        in.readInts(refBits);
+        hand = in.readInt();
+        used = in.readInt();
+        index.clear();
+        for (int slot = 0; slot < used; slot++) {
+            index.put(pages.get(slot), slot);
+        }
+    }
+}
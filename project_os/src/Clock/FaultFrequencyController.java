@@ -0,0 +1,96 @@
+package Clock;
+
+import checkpoint.Checkpointable;
+import checkpoint.SnapshotInput;
+import checkpoint.SnapshotOutput;
+
+/**
+ * Page-fault-frequency (PFF) controller: decides how many frames a policy may keep
+ * resident from the fault rate it has just observed.
+ * <p>
+ * References are counted in fixed windows of virtual time. At the end of each
+ * window the fault rate is compared against a band: above {@code upperRate} the
+ * allowance grows by an eighth (at least one frame), below {@code lowerRate} it
+ * shrinks by the same amount, and inside the band it is left alone. The allowance
+ * always stays within {@code [minFrames, maxFrames]}.
+ */
+public class FaultFrequencyController implements Checkpointable {
+
+    private final int minFrames;
+    private final int maxFrames;
+    private final int window;
+    private final double lowerRate;
+    private final double upperRate;
+
+    private int target;
+    private int references = 0;
+    private int faults = 0;
+
+    /**
+     * @param window    references per measurement window
+     * @param lowerRate fault rate below which frames are taken away (0..1)
+     * @param upperRate fault rate above which frames are added (0..1)
+     */
+    public FaultFrequencyController(int minFrames, int maxFrames, int window, double lowerRate, double upperRate) {
+        if (minFrames <= 0) throw new IllegalArgumentException("Number of frames must be greater than 0.");
+        if (maxFrames < minFrames) throw new IllegalArgumentException("Maximum frames must be at least the minimum.");
+        if (window <= 0) throw new IllegalArgumentException("Window must be greater than 0.");
+        if (!(lowerRate >= 0 && lowerRate <= upperRate && upperRate <= 1)) {
+            throw new IllegalArgumentException("Fault rate band must satisfy 0 <= lower <= upper <= 1.");
+        }
+        this.minFrames = minFrames;
+        this.maxFrames = maxFrames;
+        this.window = window;
+        this.lowerRate = lowerRate;
+        this.upperRate = upperRate;
+        // Start in the middle and let the first windows pull it either way
+        this.target = Math.max(minFrames, maxFrames / 2);
+    }
+
+    /**
+     * Records one reference.
+     *
+     * @return the number of frames the policy may keep resident from now on
+     */
+    public int record(boolean fault) {
+        if (fault) faults++;
+        if (++references == window) {
+            double rate = (double) faults / window;
+            int step = Math.max(1, target >>> 3);
+            if (rate > upperRate) {
+                target = Math.min(maxFrames, target + step);
+            } else if (rate < lowerRate) {
+                target = Math.max(minFrames, target - step);
+            }
+            references = 0;
+            faults = 0;
+        }
+        return target;
+    }
+
+    public int getTarget() {
+        return target;
+    }
+
+    public int getMinFrames() {
+        return minFrames;
+    }
+
+    public int getMaxFrames() {
+        return maxFrames;
+    }
+
+    @Override
+    public void saveState(SnapshotOutput out) {
+        out.writeInt(target);
+        out.writeInt(references);
+        out.writeInt(faults);
+    }
+
+    @Override
+    public void restoreState(SnapshotInput in) {
+        target = in.readInt();
+        references = in.readInt();
+        faults = in.readInt();
+    }
+}
@@ -0,0 +1,231 @@
+package Clock;
+
+import checkpoint.Checkpointable;
+import checkpoint.SnapshotInput;
+import checkpoint.SnapshotOutput;
+import engine.ReplacementPolicy;
+import metrics.HandCounter;
+import metrics.Metrics;
+import utils.IntIntMap;
+
+import java.util.Arrays;
+
+/**
+ * WSClock (Carr and Hennessy): Clock combined with a working-set window.
+ * <p>
+ * Virtual time advances by one per reference. Each frame keeps a reference bit and
+ * the virtual time it was last seen in use. On a fault the hand sweeps the frames:
+ * a set reference bit is cleared and the frame's last-use time is brought up to
+ * now; a clear bit on a page older than {@code tau} marks a page outside the working
+ * set, which is the victim. If a whole revolution finds every page inside the
+ * window, the page with the oldest last-use time is evicted instead.
+ * <p>
+ * Without a controller the resident set is exactly {@code frameCount} frames, as
+ * for every other policy. With a {@link FaultFrequencyController} the frame count
+ * is only an upper bound: the controller sets how many frames may be resident, and
+ * faults that find the resident set over that allowance evict extra pages and leave
+ * their frames empty.
+ */
+public class WSClockPolicy implements ReplacementPolicy, HandCounter, Checkpointable {
+
+    private static final int EMPTY = -1;
+
+    private final int frameCount;
+    private final long tau;
+    private final FaultFrequencyController controller;
+
+    private final int[] pages;          // slot -> page ID (EMPTY if unused)
+    private final boolean[] referenced; // slot -> reference bit
+    private final long[] lastUse;       // slot -> virtual time last seen referenced
+    private final int[] freeSlots;      // stack of empty slots
+    private final IntIntMap index;      // page ID -> slot
+
+    private int freeCount;
+    private int resident = 0;
+    private int limit;
+    private int hand = 0;
+    private long handAdvances = 0;      // counted only with metrics on
+    private long now = 0;               // virtual time = references so far
+    private long residentSum = 0;       // sum of resident set sizes, for the mean
+
+    /** Fixed allocation with a window of twice the frame count. */
+    public WSClockPolicy(int frameCount) {
+        this(frameCount, 2L * frameCount, null);
+    }
+
+    public WSClockPolicy(int frameCount, long tau) {
+        this(frameCount, tau, null);
+    }
+
+    /**
+     * @param tau        working-set window in references
+     * @param controller adjusts the resident set as faults occur; {@code null} for a fixed allocation
+     */
+    public WSClockPolicy(int frameCount, long tau, FaultFrequencyController controller) {
+        if (frameCount <= 0) throw new IllegalArgumentException("Number of frames must be greater than 0.");
+        if (tau <= 0) throw new IllegalArgumentException("Working-set window must be greater than 0.");
+        if (controller != null && controller.getMaxFrames() > frameCount) {
+            throw new IllegalArgumentException("Controller may not allow more than " + frameCount + " frames.");
+        }
+        this.frameCount = frameCount;
+        this.tau = tau;
+        this.controller = controller;
+        this.limit = (controller != null) ? controller.getTarget() : frameCount;
+
+        this.pages = new int[frameCount];
+        Arrays.fill(pages, EMPTY);
+        this.referenced = new boolean[frameCount];
+        this.lastUse = new long[frameCount];
+        this.freeSlots = new int[frameCount];
+        // Popped from the top, so slots fill in order 0, 1, 2...
+        for (int i = 0; i < frameCount; i++) {
+            freeSlots[i] = frameCount - 1 - i;
+        }
+        this.freeCount = frameCount;
+        this.index = new IntIntMap(frameCount);
+    }
+
+    @Override
+    public boolean access(int page) {
+        now++;
+        int slot = index.get(page);
+        boolean hit = slot != IntIntMap.MISSING;
+
+        if (hit) {
+            referenced[slot] = true;
+        } else {
+            // Make room: one victim normally, more if the allowance has shrunk
+            while (resident >= limit) {
+                release(sweep());
+            }
+            slot = freeSlots[--freeCount];
+            pages[slot] = page;
+            referenced[slot] = true;
+            lastUse[slot] = now;
+            index.put(page, slot);
+            resident++;
+        }
+
+        residentSum += resident;
+        if (controller != null) {
+            limit = controller.record(!hit);
+        }
+        return hit;
+    }
+
+    /** Finds the next victim and leaves the hand just past it. */
+    private int sweep() {
+        int oldest = EMPTY;
+        long oldestUse = Long.MAX_VALUE;
+        for (int n = 0; n < frameCount; n++) {
+            int slot = hand;
+            hand = (hand + 1 == frameCount) ? 0 : hand + 1;
+            if (Metrics.ENABLED) handAdvances++;
+            if (pages[slot] == EMPTY) continue;
+
+            if (referenced[slot]) {
+                // In use since the hand last passed: still in the working set
+                referenced[slot] = false;
+                lastUse[slot] = now;
+            } else if (now - lastUse[slot] > tau) {
+                return slot;
+            }
+            if (lastUse[slot] < oldestUse) {
+                oldestUse = lastUse[slot];
+                oldest = slot;
+            }
+        }
+        // Everything is inside the window: fall back to the least recently used page seen
+        hand = (oldest + 1 == frameCount) ? 0 : oldest + 1;
+        return oldest;
+    }
+
+    private void release(int slot) {
+        index.remove(pages[slot]);
+        pages[slot] = EMPTY;
+        referenced[slot] = false;
+        freeSlots[freeCount++] = slot;
+        resident--;
+    }
+
+    @Override
+    public int copyFrames(int[] dest, int offset, int max) {
+        int n = 0;
+        for (int slot = 0; slot < frameCount && n < max; slot++) {
+            if (pages[slot] != EMPTY) dest[offset + n++] = pages[slot];
+        }
+        return n;
+    }
+
+    /** @return pages resident right now */
+    public int getResidentCount() {
+        return resident;
+    }
+
+    /** @return resident set size averaged over every reference so far */
+    public double getMeanResidentCount() {
+        return (now == 0) ? 0 : (double) residentSum / now;
+    }
+
+    public long getTau() {
+        return tau;
+    }
+
+    public int getHand() {
+        return hand;
+    }
+
+    @Override
+    public long getHandAdvances() {
+        return handAdvances;
+    }
+
+    /** @return the most frames this policy will ever use */
+    @Override
+    public int getFrameCount() {
+        return frameCount;
+    }
+
+    @Override
+    public String getName() {
+        return (controller != null) ? "WSClock+PFF" : "WSClock";
+    }
+
+    @Override
+    public void saveState(SnapshotOutput out) {
+        out.writeInts(pages);
+        out.writeBooleans(referenced);
+        out.writeLongs(lastUse);
+        out.writeInts(freeSlots);
+        out.writeInt(freeCount);
+        out.writeInt(resident);
+        out.writeInt(limit);
+        out.writeInt(hand);
+        out.writeLong(now);
+        out.writeLong(residentSum);
+        out.writeBoolean(controller != null);
+        if (controller != null) controller.saveState(out);
+    }
+
+    @Override
+    public void restoreState(SnapshotInput in) {
+        in.readInts(pages);
+        in.readBooleans(referenced);
+        in.readLongs(lastUse);
+        in.readInts(freeSlots);
+        freeCount = in.readInt();
+        resident = in.readInt();
+        limit = in.readInt();
+        hand = in.readInt();
+        now = in.readLong();
+        residentSum = in.readLong();
+        if (in.readBoolean() != (controller != null)) {
+            throw new IllegalArgumentException("Checkpoint does not match this policy: fault-frequency control differs.");
+        }
+        if (controller != null) controller.restoreState(in);
+        index.clear();
+        for (int slot = 0; slot < frameCount; slot++) {
+            if (pages[slot] != EMPTY) index.put(pages[slot], slot);
+        }
+    }
+}
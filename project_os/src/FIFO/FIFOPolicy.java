@@ -0,0 +1,123 @@
+package FIFO;
+
+import checkpoint.Checkpointable;
+import checkpoint.SnapshotInput;
+import checkpoint.SnapshotOutput;
+import engine.ReplacementPolicy;
+import utils.IntArray;
+import utils.IntIntTable;
+import utils.Storage;
+
+import java.util.function.IntConsumer;
+
+/**
+ * Allocation-free FIFO engine with the same rules as {@link FIFO_main#simulateFIFO(int, int[])}:
+ * evict the page that arrived first.
+ * <p>
+ * Frames fill in index order and the oldest page is always in the frame after the
+ * most recently filled one, so the frame array itself is the FIFO ring buffer:
+ * {@code head} points at the next victim. A primitive open-addressing page table
+ * maps page IDs to frames, so a reference never boxes or allocates. Both live on
+ * the heap or, for very large memories, off it (see {@link Storage}).
+ */
+public class FIFOPolicy implements ReplacementPolicy, Checkpointable {
+
+    public static final int EMPTY = -1;
+
+    private final int frameCount;
+    private final IntArray frames;       // ring buffer: frame -> page ID
+    private final IntIntTable pageTable; // page ID -> frame
+
+    private int head = 0;              // oldest frame, next victim once full
+    private int used = 0;
+
+    public FIFOPolicy(int frameCount) {
+        this(frameCount, Storage.HEAP);
+    }
+
+    public FIFOPolicy(int frameCount, Storage storage) {
+        if (frameCount <= 0) throw new IllegalArgumentException("Number of frames must be greater than 0.");
+        this.frameCount = frameCount;
+        this.frames = storage.ints(frameCount);
+        frames.fill(EMPTY);
+        this.pageTable = storage.table(frameCount);
+    }
+
+    @Override
+    public boolean access(int page) {
+        if (pageTable.containsKey(page)) {
+            return true;
+        }
+
+        int frame;
+        if (used < frameCount) {
+            // Scenario A: Empty frame available
+            frame = used++;
+        } else {
+            // Scenario B: Memory full -> Evict oldest (FIFO)
+            frame = head;
+            pageTable.remove(frames.get(frame));
+            head = (head + 1 == frameCount) ? 0 : head + 1;
+        }
+        frames.set(frame, page);
+        pageTable.put(page, frame);
+        return false;
+    }
+
+    /** @return true once every frame holds a page */
+    public boolean isFull() {
+        return used == frameCount;
+    }
+
+    /** @return the frame that will be replaced by the next fault once memory is full */
+    public int getNextVictimFrame() {
+        return head;
+    }
+
+    /** @return the page in a frame, or {@link #EMPTY} */
+    public int getPageAt(int frame) {
+        return frames.get(frame);
+    }
+
+    @Override
+    public int copyFrames(int[] dest, int offset, int max) {
+        int n = Math.min(used, max);
+        frames.copyTo(0, dest, offset, n);
+        return n;
+    }
+
+    @Override
+    public void forEachFrame(IntConsumer action) {
+        for (int i = 0; i < used; i++) {
+            action.accept(frames.get(i));
+        }
+    }
+
+    @Override
+    public int getFrameCount() {
+        return frameCount;
+    }
+
+    @Override
+    public String getName() {
+        return "FIFO";
+    }
+
+    @Override
+    public void saveState(SnapshotOutput out) {
+        out.writeInts(frames);
+        out.writeInt(head);
+        out.writeInt(used);
+    }
+
+    @Override
+    public void restoreState(SnapshotInput in) {
+        in.readInts(frames);
+        head = in.readInt();
+        used = in.readInt();
+        pageTable.clear();
+        for (int frame = 0; frame < used; frame++) {
+            pageTable.put(frames.get(frame), frame);
+        }
+    }
+}
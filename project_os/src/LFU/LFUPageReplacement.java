@@ -32,6 +32,19 @@ public class LFUPageReplacement {
         System.out.println("Fault Rate = " + faultRate + "%");
     }
 
+    /**
+     * Same result as {@link #pageFaults(int[], int)} without the step output,
+     * using the O(1) frequency-bucket engine in {@link LFUPolicy}.
+     */
+    public static int countFaults(int[] pages, int frames) {
+        LFUPolicy lfu = new LFUPolicy(frames);
+        int faults = 0;
+        for (int page : pages) {
+            if (!lfu.access(page)) faults++;
+        }
+        return faults;
+    }
+
    public static int pageFaults(int[] pages, int frames) {
         int faults = 0;
 
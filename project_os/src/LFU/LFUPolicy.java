@@ -0,0 +1,213 @@
+package LFU;
+
+import checkpoint.Checkpointable;
+import checkpoint.SnapshotInput;
+import checkpoint.SnapshotOutput;
+import engine.ReplacementPolicy;
+import utils.IntArray;
+import utils.IntIntTable;
+import utils.Storage;
+
+import java.util.function.IntConsumer;
+
+/**
+ * O(1) LFU engine with the same rules as {@link LFUPageReplacement#pageFaults(int[], int)}:
+ * evict the lowest frequency, ties broken by the page touched least recently
+ * (the head of the insertion-ordered set in the original).
+ * <p>
+ * Pages are grouped into frequency buckets. Buckets form an ascending linked list
+ * (so the lowest frequency is always the first bucket) and each bucket keeps its
+ * pages in the order they arrived at that frequency. A hit moves the page to the
+ * tail of the next bucket, an eviction takes the head of the first bucket; both are
+ * O(1). All links live in int arrays, on the heap or, for very large memories, off
+ * it (see {@link Storage}), and bucket nodes are recycled from a free list, so
+ * nothing is allocated after construction.
+ */
+public class LFUPolicy implements ReplacementPolicy, Checkpointable {
+
+    private static final int NIL = -1;
+
+    private final int frames;
+
+    // Per frame slot
+    private final IntArray pages;       // slot -> page ID
+    private final IntArray bucketOf;    // slot -> bucket node
+    private final IntArray prev;        // slot -> previous slot in the same bucket
+    private final IntArray next;        // slot -> next slot in the same bucket
+    private final IntIntTable index;    // page ID -> slot
+
+    // Per bucket node (at most frames + 1 are live at once)
+    private final IntArray bucketFreq;
+    private final IntArray bucketHead;
+    private final IntArray bucketTail;
+    private final IntArray bucketPrev;
+    private final IntArray bucketNext;
+
+    private int firstBucket = NIL;   // lowest frequency
+    private int freeBucket;          // free list threaded through bucketNext
+    private int used = 0;
+
+    public LFUPolicy(int frames) {
+        this(frames, Storage.HEAP);
+    }
+
+    public LFUPolicy(int frames, Storage storage) {
+        if (frames <= 0) throw new IllegalArgumentException("Number of frames must be greater than 0.");
+        this.frames = frames;
+        this.pages = storage.ints(frames);
+        this.bucketOf = storage.ints(frames);
+        this.prev = storage.ints(frames);
+        this.next = storage.ints(frames);
+        this.index = storage.table(frames);
+
+        long buckets = frames + 1L;
+        this.bucketFreq = storage.ints(buckets);
+        this.bucketHead = storage.ints(buckets);
+        this.bucketTail = storage.ints(buckets);
+        this.bucketPrev = storage.ints(buckets);
+        this.bucketNext = storage.ints(buckets);
+        for (long b = 0; b < buckets; b++) {
+            bucketNext.set(b, b + 1 < buckets ? (int) (b + 1) : NIL);
+        }
+        this.freeBucket = 0;
+    }
+
+    @Override
+    public boolean access(int page) {
+        int slot = index.get(page);
+
+        // 1. HIT: promote to the next frequency bucket
+        if (slot != IntIntTable.MISSING) {
+            int from = bucketOf.get(slot);
+            int freq = bucketFreq.get(from) + 1;
+            int to = bucketNext.get(from);
+            if (to == NIL || bucketFreq.get(to) != freq) {
+                to = newBucketAfter(from, freq);
+            }
+            removeFromBucket(slot);
+            appendToBucket(to, slot);
+            return true;
+        }
+
+        // 2. FAULT: evict the oldest page of the lowest frequency if memory is full
+        if (used < frames) {
+            slot = used++;
+        } else {
+            slot = bucketHead.get(firstBucket);
+            index.remove(pages.get(slot));
+            removeFromBucket(slot);
+        }
+
+        pages.set(slot, page);
+        index.put(page, slot);
+        int first = firstBucket;
+        if (first == NIL || bucketFreq.get(first) != 1) {
+            first = newBucketAfter(NIL, 1);
+        }
+        appendToBucket(first, slot);
+        return false;
+    }
+
+    /** Takes a bucket from the free list and links it after {@code after} (or first when NIL). */
+    private int newBucketAfter(int after, int freq) {
+        int b = freeBucket;
+        freeBucket = bucketNext.get(b);
+
+        bucketFreq.set(b, freq);
+        bucketHead.set(b, NIL);
+        bucketTail.set(b, NIL);
+        int n = (after == NIL) ? firstBucket : bucketNext.get(after);
+        bucketPrev.set(b, after);
+        bucketNext.set(b, n);
+        if (after == NIL) firstBucket = b; else bucketNext.set(after, b);
+        if (n != NIL) bucketPrev.set(n, b);
+        return b;
+    }
+
+    private void appendToBucket(int b, int slot) {
+        bucketOf.set(slot, b);
+        int t = bucketTail.get(b);
+        prev.set(slot, t);
+        next.set(slot, NIL);
+        if (t != NIL) next.set(t, slot); else bucketHead.set(b, slot);
+        bucketTail.set(b, slot);
+    }
+
+    /** Unlinks a slot from its bucket and releases the bucket if it became empty. */
+    private void removeFromBucket(int slot) {
+        int b = bucketOf.get(slot);
+        int p = prev.get(slot);
+        int n = next.get(slot);
+        if (p != NIL) next.set(p, n); else bucketHead.set(b, n);
+        if (n != NIL) prev.set(n, p); else bucketTail.set(b, p);
+
+        if (bucketHead.get(b) == NIL) {
+            int bp = bucketPrev.get(b);
+            int bn = bucketNext.get(b);
+            if (bp != NIL) bucketNext.set(bp, bn); else firstBucket = bn;
+            if (bn != NIL) bucketPrev.set(bn, bp);
+            bucketNext.set(b, freeBucket);
+            freeBucket = b;
+        }
+    }
+
+    @Override
+    public int copyFrames(int[] dest, int offset, int max) {
+        int n = Math.min(used, max);
+        pages.copyTo(0, dest, offset, n);
+        return n;
+    }
+
+    @Override
+    public void forEachFrame(IntConsumer action) {
+        for (int i = 0; i < used; i++) {
+            action.accept(pages.get(i));
+        }
+    }
+
+    @Override
+    public int getFrameCount() {
+        return frames;
+    }
+
+    @Override
+    public String getName() {
+        return "LFU";
+    }
+
+    @Override
+    public void saveState(SnapshotOutput out) {
+        out.writeInts(pages);
+        out.writeInts(bucketOf);
+        out.writeInts(prev);
+        out.writeInts(next);
+        out.writeInts(bucketFreq);
+        out.writeInts(bucketHead);
+        out.writeInts(bucketTail);
+        out.writeInts(bucketPrev);
+        out.writeInts(bucketNext);
+        out.writeInt(firstBucket);
+        out.writeInt(freeBucket);
+        out.writeInt(used);
+    }
+
+    @Override
+    public void restoreState(SnapshotInput in) {
+        in.readInts(pages);
+        in.readInts(bucketOf);
+        in.readInts(prev);
+        in.readInts(next);
+        in.readInts(bucketFreq);
+        in.readInts(bucketHead);
+        in.readInts(bucketTail);
+        in.readInts(bucketPrev);
+        in.readInts(bucketNext);
+        firstBucket = in.readInt();
+        freeBucket = in.readInt();
+        used = in.readInt();
+        index.clear();
+        for (int slot = 0; slot < used; slot++) {
+            index.put(pages.get(slot), slot);
+        }
+    }
+}
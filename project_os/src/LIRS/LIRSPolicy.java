@@ -0,0 +1,338 @@
+package LIRS;
+
+import checkpoint.Checkpointable;
+import checkpoint.SnapshotInput;
+import checkpoint.SnapshotOutput;
+import engine.ReplacementPolicy;
+import utils.IntIntMap;
+
+/**
+ * LIRS (Low Inter-reference Recency Set, Jiang and Zhang), a scan-resistant policy.
+ * <p>
+ * Pages with a short reuse distance are LIR and always resident. About 1% of the
+ * frames hold resident HIR pages in a FIFO queue Q; everything else that is HIR is
+ * at most a non-resident entry in the recency stack S. A page is promoted to LIR
+ * when it is referenced again while still in S, i.e. when its reuse distance
+ * beats that of the oldest LIR page, which is demoted in exchange. Stack pruning
+ * keeps an LIR page at the bottom of S so both decisions are O(1).
+ * <p>
+ * Non-resident entries are capped at one per frame (oldest forgotten first), so the
+ * node pool, the index and every list live in fixed int arrays and nothing is
+ * allocated per reference.
+ */
+public class LIRSPolicy implements ReplacementPolicy, Checkpointable {
+
+    private static final int NIL = -1;
+
+    static final byte LIR = 0;
+    static final byte HIR_RESIDENT = 1;
+    static final byte HIR_NONRESIDENT = 2;
+
+    private final int frames;
+    private final int lirLimit;
+    private final int maxNonResident;
+
+    private final int[] pageOf;
+    private final byte[] status;
+    private final boolean[] inS;
+    private final boolean[] inQ;       // for non-resident nodes: in the NR list instead
+    private final int[] sPrev;         // stack S: head = top (most recent)
+    private final int[] sNext;
+    private final int[] qPrev;         // queue Q (resident HIR) or NR list (non-resident HIR)
+    private final int[] qNext;
+    private final IntIntMap index;     // page ID -> node
+    private int freeNode = NIL;        // threaded through qNext
+
+    private int sTop = NIL, sBottom = NIL;
+    private int qHead = NIL, qTail = NIL, qSize = 0;    // head = oldest, next to evict
+    private int nrHead = NIL, nrTail = NIL, nrSize = 0; // head = oldest non-resident
+    private int lirCount = 0;
+
+    public LIRSPolicy(int frames) {
+        if (frames <= 0) throw new IllegalArgumentException("Number of frames must be greater than 0.");
+        this.frames = frames;
+        int hirLimit = Math.max(1, frames / 100);
+        this.lirLimit = frames - hirLimit;
+        this.maxNonResident = frames;
+
+        int nodes = frames + maxNonResident + 1;
+        this.pageOf = new int[nodes];
+        this.status = new byte[nodes];
+        this.inS = new boolean[nodes];
+        this.inQ = new boolean[nodes];
+        this.sPrev = new int[nodes];
+        this.sNext = new int[nodes];
+        this.qPrev = new int[nodes];
+        this.qNext = new int[nodes];
+        this.index = new IntIntMap(nodes);
+        for (int n = nodes - 1; n >= 0; n--) {
+            qNext[n] = freeNode;
+            freeNode = n;
+        }
+    }
+
+    @Override
+    public boolean access(int page) {
+        int node = index.get(page);
+
+        // 1. LIR hit
+        if (node != IntIntMap.MISSING && status[node] == LIR) {
+            boolean wasBottom = (node == sBottom);
+            sRemove(node);
+            sPush(node);
+            if (wasBottom) prune();
+            return true;
+        }
+
+        // 2. Resident HIR hit
+        if (node != IntIntMap.MISSING && status[node] == HIR_RESIDENT) {
+            if (inS[node]) {
+                // Reused within the LIR window: promote, demote the oldest LIR
+                sRemove(node);
+                sPush(node);
+                qRemove(node);
+                makeLir(node);
+            } else {
+                sPush(node);
+                qRemove(node);
+                qAppend(node);
+            }
+            return true;
+        }
+
+        // 3. Miss
+        if (lirCount + qSize < frames) {
+            // Memory is still filling up (no non-resident entries exist yet)
+            node = allocate(page);
+            sPush(node);
+            if (lirCount < lirLimit) {
+                status[node] = LIR;
+                lirCount++;
+            } else {
+                status[node] = HIR_RESIDENT;
+                qAppend(node);
+            }
+            return false;
+        }
+
+        evictResidentHir();
+
+        // Eviction may have forgotten this page's own non-resident entry
+        node = index.get(page);
+        if (node != IntIntMap.MISSING) {
+            // Non-resident HIR still in S: its reuse distance qualifies it as LIR
+            nrRemove(node);
+            sRemove(node);
+            sPush(node);
+            makeLir(node);
+        } else {
+            node = allocate(page);
+            status[node] = HIR_RESIDENT;
+            sPush(node);
+            qAppend(node);
+        }
+        return false;
+    }
+
+    /** Turns a node into LIR; if that exceeds the LIR budget, demotes the bottom LIR page. */
+    private void makeLir(int node) {
+        status[node] = LIR;
+        lirCount++;
+        if (lirCount > lirLimit) {
+            // Only with a single frame can the bottom of S be HIR here; the new LIR page stops the prune
+            prune();
+            int bottom = sBottom;
+            sRemove(bottom);
+            status[bottom] = HIR_RESIDENT;
+            lirCount--;
+            qAppend(bottom);
+            prune();
+        }
+    }
+
+    /** Frees a frame by evicting the front of Q; it stays in S as a non-resident entry if it is there. */
+    private void evictResidentHir() {
+        // Memory is full and at most lirLimit = frames - hirLimit pages are LIR, so Q
+        // holds at least hirLimit >= 1 pages and is never empty here, even with one frame
+        int victim = qHead;
+        qRemove(victim);
+        if (inS[victim]) {
+            status[victim] = HIR_NONRESIDENT;
+            nrAppend(victim);
+            if (nrSize > maxNonResident) {
+                int oldest = nrHead;
+                nrRemove(oldest);
+                sRemove(oldest);
+                release(oldest);
+            }
+        } else {
+            release(victim);
+        }
+    }
+
+    /** Removes HIR entries from the bottom of S until an LIR page is at the bottom. */
+    private void prune() {
+        while (sBottom != NIL && status[sBottom] != LIR) {
+            int n = sBottom;
+            sRemove(n);
+            if (status[n] == HIR_NONRESIDENT) {
+                nrRemove(n);
+                release(n);
+            }
+        }
+    }
+
+    private int allocate(int page) {
+        int node = freeNode;
+        freeNode = qNext[node];
+        pageOf[node] = page;
+        inS[node] = false;
+        inQ[node] = false;
+        index.put(page, node);
+        return node;
+    }
+
+    private void release(int node) {
+        index.remove(pageOf[node]);
+        qNext[node] = freeNode;
+        freeNode = node;
+    }
+
+    // ---- stack S ----
+
+    private void sPush(int node) {
+        inS[node] = true;
+        sPrev[node] = NIL;
+        sNext[node] = sTop;
+        if (sTop != NIL) sPrev[sTop] = node; else sBottom = node;
+        sTop = node;
+    }
+
+    private void sRemove(int node) {
+        int pv = sPrev[node];
+        int nx = sNext[node];
+        if (pv != NIL) sNext[pv] = nx; else sTop = nx;
+        if (nx != NIL) sPrev[nx] = pv; else sBottom = pv;
+        inS[node] = false;
+    }
+
+    // ---- queue Q (resident HIR) ----
+
+    private void qAppend(int node) {
+        inQ[node] = true;
+        qNext[node] = NIL;
+        qPrev[node] = qTail;
+        if (qTail != NIL) qNext[qTail] = node; else qHead = node;
+        qTail = node;
+        qSize++;
+    }
+
+    private void qRemove(int node) {
+        int pv = qPrev[node];
+        int nx = qNext[node];
+        if (pv != NIL) qNext[pv] = nx; else qHead = nx;
+        if (nx != NIL) qPrev[nx] = pv; else qTail = pv;
+        inQ[node] = false;
+        qSize--;
+    }
+
+    // ---- non-resident list (shares the Q links; a node is never in both) ----
+
+    private void nrAppend(int node) {
+        qNext[node] = NIL;
+        qPrev[node] = nrTail;
+        if (nrTail != NIL) qNext[nrTail] = node; else nrHead = node;
+        nrTail = node;
+        nrSize++;
+    }
+
+    private void nrRemove(int node) {
+        int pv = qPrev[node];
+        int nx = qNext[node];
+        if (pv != NIL) qNext[pv] = nx; else nrHead = nx;
+        if (nx != NIL) qPrev[nx] = pv; else nrTail = pv;
+        nrSize--;
+    }
+
+    /** @return LIR, HIR_RESIDENT or HIR_NONRESIDENT, or -1 if the page is not tracked at all */
+    byte statusOf(int page) {
+        int node = index.get(page);
+        return (node == IntIntMap.MISSING) ? -1 : status[node];
+    }
+
+    @Override
+    public int copyFrames(int[] dest, int offset, int max) {
+        int n = 0;
+        for (int node = sTop; node != NIL && n < max; node = sNext[node]) {
+            if (status[node] == LIR) dest[offset + n++] = pageOf[node];
+        }
+        for (int node = qHead; node != NIL && n < max; node = qNext[node]) {
+            dest[offset + n++] = pageOf[node];
+        }
+        return n;
+    }
+
+    @Override
+    public int getFrameCount() {
+        return frames;
+    }
+
+    @Override
+    public String getName() {
+        return "LIRS";
+    }
+
+    @Override
+    public void saveState(SnapshotOutput out) {
+        out.writeInts(pageOf);
+        out.writeBytes(status);
+        out.writeBooleans(inS);
+        out.writeBooleans(inQ);
+        out.writeInts(sPrev);
+        out.writeInts(sNext);
+        out.writeInts(qPrev);
+        out.writeInts(qNext);
+        out.writeInt(freeNode);
+        out.writeInt(sTop);
+        out.writeInt(sBottom);
+        out.writeInt(qHead);
+        out.writeInt(qTail);
+        out.writeInt(qSize);
+        out.writeInt(nrHead);
+        out.writeInt(nrTail);
+        out.writeInt(nrSize);
+        out.writeInt(lirCount);
+    }
+
+    @Override
+    public void restoreState(SnapshotInput in) {
+        in.readInts(pageOf);
+        in.readBytes(status);
+        in.readBooleans(inS);
+        in.readBooleans(inQ);
+        in.readInts(sPrev);
+        in.readInts(sNext);
+        in.readInts(qPrev);
+        in.readInts(qNext);
+        freeNode = in.readInt();
+        sTop = in.readInt();
+        sBottom = in.readInt();
+        qHead = in.readInt();
+        qTail = in.readInt();
+        qSize = in.readInt();
+        nrHead = in.readInt();
+        nrTail = in.readInt();
+        nrSize = in.readInt();
+        lirCount = in.readInt();
+
+        // Every node off the free list belongs to a page in the index
+        boolean[] free = new boolean[pageOf.length];
+        for (int n = freeNode; n != NIL; n = qNext[n]) {
+            free[n] = true;
+        }
+        index.clear();
+        for (int n = 0; n < pageOf.length; n++) {
+            if (!free[n]) index.put(pageOf[n], n);
+        }
+    }
+}
@@ -1,131 +1,74 @@
 package LRU;
 
-import java.util.*;
+import checkpoint.Checkpointable;
+import checkpoint.SnapshotInput;
+import checkpoint.SnapshotOutput;
+import engine.ReplacementPolicy;
 
-public class LRUCache{
+/**
+ * The menu's LRU entry point. Lookups and evictions are done by {@link LRUPolicy},
+ * which keeps the same slot layout, so a fault reuses the victim's slot and
+ * allocates nothing.
+ */
+public class LRUCache implements ReplacementPolicy, Checkpointable {
 
-    private final int numFrames;
-    private final Page[] frames;
-    private int pageFaults = 0;
-    private int currentTime = 0;
+    private final LRUPolicy engine;
 
     public LRUCache(int numFrames) {
-        this.numFrames = numFrames;
-        this.frames = new Page[numFrames];
+        this.engine = new LRUPolicy(numFrames);
     }
 
     public String processReference(int refId) {
-        currentTime++;
-        int hitIndex = -1;
-
-        // 1. Check for Hit (Is the page already in memory?)
-        for (int i = 0; i < numFrames; i++) {
-            if (frames[i] != null && frames[i].id == refId) {
-                hitIndex = i;
-                break;
-            }
-        }
-
-        if (hitIndex != -1) {
-            // HIT: Update the last used time to the current clock
-            frames[hitIndex].lastUsedTime = currentTime;
-            return "Hit";
-        }
-
-        // 2. Handle FAULT
-        pageFaults++;
-        int replaceIndex = findReplacementIndex();
-
-        // Insert new page with current timestamp
-        frames[replaceIndex] = new Page(refId, currentTime);
-        return "Fault";
+        return access(refId) ? "Hit" : "Fault";
     }
 
-    private int findReplacementIndex() {
-        // First check for empty slots (initial filling)
-        for (int i = 0; i < numFrames; i++) {
-            if (frames[i] == null) return i;
-        }
-
-        // LRU Logic: Find the page with the SMALLEST lastUsedTime
-        // (the one used furthest back in the past)
-        int leastUsedTime = Integer.MAX_VALUE;
-        int replaceIndex = 0;
+    /**
+     * Headless version of {@link #processReference(int)}.
+     *
+     * @return true on a hit, false on a fault
+     */
+    @Override
+    public boolean access(int refId) {
+        return engine.access(refId);
+    }
 
-        for (int i = 0; i < numFrames; i++) {
-            if (frames[i].lastUsedTime < leastUsedTime) {
-                leastUsedTime = frames[i].lastUsedTime;
-                replaceIndex = i;
-            }
-        }
-        return replaceIndex;
+    @Override
+    public int copyFrames(int[] dest, int offset, int max) {
+        return engine.copyFrames(dest, offset, max);
     }
 
     public String getFrameState() {
-        StringJoiner sj = new StringJoiner(", ", "[", "]");
-        for (Page p : frames) {
-            if (p != null) sj.add(String.valueOf(p.id));
-        }
-        return sj.toString();
+        return engine.getFrameState();
     }
 
-    public int getPageFaults() { return pageFaults; }
+    public int getPageFaults() { return (int) engine.getPageFaults(); }
+
+    @Override
+    public int getFrameCount() { return engine.getFrameCount(); }
+
+    @Override
+    public String getName() { return "LRU"; }
 
     public void simulateLRU(int[] pages, int capacity) {
-        List<Integer> frames = new ArrayList<>();
-        Map<Integer, Integer> lastUsedTime = new HashMap<>();
+        // O(1) engine: hash index for hits, linked recency list for the victim
+        LRUPolicy lru = new LRUPolicy(capacity);
 
         int pageFaults = 0;
-        int timer = 0;
 
         System.out.println("\n--- LRU Simulation ---");
         System.out.println("Ref | Frames               | Status");
         System.out.println("------------------------------------");
 
         for (int page : pages) {
-            timer++;
             String status;
 
-            // 1. Check for Hit
-            if (frames.contains(page)) {
+            if (lru.access(page)) {
                 status = "Hit";
-                // Update timestamp on Hit
-                lastUsedTime.put(page, timer);
-            }
-            // 2. Handle Fault
-            else {
+            } else {
                 status = "Fault";
                 pageFaults++;
-
-                if (frames.size() < capacity) {
-                    frames.add(page);
-                } else {
-                    // Find replacement index logic from LRUCache
-                    int victimIndex = -1;
-                    int minTime = Integer.MAX_VALUE;
-
-                    for (int i = 0; i < frames.size(); i++) {
-                        int p = frames.get(i);
-                        int lastUsed = lastUsedTime.get(p);
-
-                        if (lastUsed < minTime) {
-                            minTime = lastUsed;
-                            victimIndex = i;
-                        }
-                    }
-
-                    int removedPage = frames.get(victimIndex);
-
-                    // Remove old map entry
-                    lastUsedTime.remove(removedPage);
-
-                    // Replace page in frame
-                    frames.set(victimIndex, page);
-                }
-                // Set timestamp for new/faulted page
-                lastUsedTime.put(page, timer);
             }
-            System.out.printf("%-3d | %-20s | %s\n", page, frames.toString(), status);
+            System.out.printf("%-3d | %-20s | %s\n", page, lru.getFrameState(), status);
         }
 
         System.out.println("------------------------------------");
@@ -133,4 +76,14 @@ public class LRUCache{
         System.out.println("Total Page Faults: " + pageFaults);
         System.out.printf("Fault Rate: %.2f%%\n", (double) pageFaults / pages.length * 100);
     }
+
+    @Override
+    public void saveState(SnapshotOutput out) {
+        engine.saveState(out);
+    }
+
+    @Override
+    public void restoreState(SnapshotInput in) {
+        engine.restoreState(in);
+    }
 }
@@ -0,0 +1,158 @@
+package LRU;
+
+import checkpoint.Checkpointable;
+import checkpoint.SnapshotInput;
+import checkpoint.SnapshotOutput;
+import engine.ReplacementPolicy;
+import utils.IntArray;
+import utils.IntIntTable;
+import utils.Storage;
+
+import java.util.StringJoiner;
+import java.util.function.IntConsumer;
+
+/**
+ * O(1) LRU engine.
+ * <p>
+ * Frames are slots in parallel int arrays, on the heap or, for very large
+ * memories, off it (see {@link Storage}). A primitive page→slot index finds hits
+ * without scanning, and an intrusive doubly linked list threaded through
+ * {@code prev}/{@code next} keeps the recency order (head = most recent,
+ * tail = least recent). Hits and evictions are O(1) and never allocate.
+ * <p>
+ * Empty slots are filled in index order and a victim's slot is reused, the
+ * layout the original timestamp-scanning {@link LRUCache} had.
+ */
+public class LRUPolicy implements ReplacementPolicy, Checkpointable {
+
+    private static final int NIL = -1;
+
+    private final int numFrames;
+    private final IntArray pages;    // slot -> page ID
+    private final IntArray prev;     // slot -> more recently used slot
+    private final IntArray next;     // slot -> less recently used slot
+    private final IntIntTable index; // page ID -> slot
+
+    private int head = NIL;
+    private int tail = NIL;
+    private int used = 0;
+    private long pageFaults = 0;
+
+    public LRUPolicy(int numFrames) {
+        this(numFrames, Storage.HEAP);
+    }
+
+    public LRUPolicy(int numFrames, Storage storage) {
+        if (numFrames <= 0) throw new IllegalArgumentException("Number of frames must be greater than 0.");
+        this.numFrames = numFrames;
+        this.pages = storage.ints(numFrames);
+        this.prev = storage.ints(numFrames);
+        this.next = storage.ints(numFrames);
+        this.index = storage.table(numFrames);
+    }
+
+    @Override
+    public boolean access(int page) {
+        int slot = index.get(page);
+
+        // 1. HIT: move to the front of the recency list
+        if (slot != IntIntTable.MISSING) {
+            if (slot != head) {
+                unlink(slot);
+                pushFront(slot);
+            }
+            return true;
+        }
+
+        // 2. FAULT: take an empty slot, or recycle the least recently used one
+        pageFaults++;
+        if (used < numFrames) {
+            slot = used++;
+        } else {
+            slot = tail;
+            index.remove(pages.get(slot));
+            unlink(slot);
+        }
+        pages.set(slot, page);
+        index.put(page, slot);
+        pushFront(slot);
+        return false;
+    }
+
+    private void unlink(int slot) {
+        int p = prev.get(slot);
+        int n = next.get(slot);
+        if (p != NIL) next.set(p, n); else head = n;
+        if (n != NIL) prev.set(n, p); else tail = p;
+    }
+
+    private void pushFront(int slot) {
+        prev.set(slot, NIL);
+        next.set(slot, head);
+        if (head != NIL) prev.set(head, slot); else tail = slot;
+        head = slot;
+    }
+
+    /** Frames in slot order, e.g. "[7, 0, 1]". */
+    public String getFrameState() {
+        StringJoiner sj = new StringJoiner(", ", "[", "]");
+        for (int i = 0; i < used; i++) {
+            sj.add(String.valueOf(pages.get(i)));
+        }
+        return sj.toString();
+    }
+
+    public long getPageFaults() {
+        return pageFaults;
+    }
+
+    @Override
+    public int copyFrames(int[] dest, int offset, int max) {
+        int n = Math.min(used, max);
+        pages.copyTo(0, dest, offset, n);
+        return n;
+    }
+
+    @Override
+    public void forEachFrame(IntConsumer action) {
+        for (int i = 0; i < used; i++) {
+            action.accept(pages.get(i));
+        }
+    }
+
+    @Override
+    public int getFrameCount() {
+        return numFrames;
+    }
+
+    @Override
+    public String getName() {
+        return "LRU";
+    }
+
+    @Override
+    public void saveState(SnapshotOutput out) {
+        out.writeInts(pages);
+        out.writeInts(prev);
+        out.writeInts(next);
+        out.writeInt(head);
+        out.writeInt(tail);
+        out.writeInt(used);
+        out.writeLong(pageFaults);
+    }
+
+    @Override
+    public void restoreState(SnapshotInput in) {
+        in.readInts(pages);
+        in.readInts(prev);
+        in.readInts(next);
+        head = in.readInt();
+        tail = in.readInt();
+        used = in.readInt();
+        pageFaults = in.readLong();
+        index.clear();
+        for (int slot = 0; slot < used; slot++) {
+            index.put(pages.get(slot), slot);
+        }
+    }
+}
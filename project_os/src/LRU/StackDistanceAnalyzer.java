@@ -0,0 +1,163 @@
+package LRU;
+
+import engine.MissRatioCurve;
+import engine.PageStream;
+import utils.IntIntMap;
+
+import java.util.Arrays;
+
+/**
+ * Single-pass LRU miss-ratio curve (Mattson's stack algorithm).
+ * <p>
+ * LRU is a stack algorithm: a reference hits in every memory of at least {@code d}
+ * frames, where {@code d} is its stack distance (1 + the number of distinct pages
+ * touched since the previous reference to the same page). One pass that records
+ * the distance histogram therefore gives the fault count of {@link LRUCache} for
+ * every frame count at once.
+ * <p>
+ * Distances are counted with a Fenwick tree over access times that holds a 1 at
+ * each page's most recent access. Time slots are compacted whenever the tree is
+ * full, so memory is proportional to the number of distinct pages, not the trace
+ * length. Each reference costs O(log distinct pages).
+ */
+public class StackDistanceAnalyzer {
+
+    private static final int FREE = -1;
+
+    private final IntIntMap lastSlot = new IntIntMap(1024); // page -> time slot of last access
+    private int[] tree;            // Fenwick tree, 1-based
+    private int[] pageAt;          // time slot -> page (FREE if no longer a last access)
+    private int nextSlot = 0;
+    private int live = 0;          // marked slots = distinct pages seen
+
+    private long[] histogram = new long[1024];
+    private int maxDistance = 0;
+    private long totalRequests = 0;
+    private long coldMisses = 0;
+
+    public StackDistanceAnalyzer() {
+        this.tree = new int[1024 + 1];
+        this.pageAt = new int[1024];
+    }
+
+    public void access(int page) {
+        totalRequests++;
+        int distance = reference(page);
+        if (distance == 0) {
+            coldMisses++;
+        } else {
+            record(distance);
+        }
+    }
+
+    /**
+     * Moves a page to the top of the stack without recording anything, for callers
+     * that keep their own histogram.
+     *
+     * @return the reference's stack distance, or 0 for a page not seen before
+     */
+    public int reference(int page) {
+        if (nextSlot == pageAt.length) compact();
+
+        int distance = 0;
+        int last = lastSlot.get(page);
+        if (last == IntIntMap.MISSING) {
+            live++;
+        } else {
+            // Distinct pages touched after 'last' = marks in (last, now)
+            distance = live - prefixSum(last + 1) + 1;
+            add(last + 1, -1);
+            pageAt[last] = FREE;
+        }
+
+        int slot = nextSlot++;
+        add(slot + 1, 1);
+        pageAt[slot] = page;
+        lastSlot.put(page, slot);
+        return distance;
+    }
+
+    /** Drops a page from the stack, as if it had never been referenced. */
+    public void forget(int page) {
+        int last = lastSlot.remove(page);
+        if (last == IntIntMap.MISSING) return;
+        add(last + 1, -1);
+        pageAt[last] = FREE;
+        live--;
+    }
+
+    /** @return distinct pages currently on the stack */
+    public int getDistinctPages() {
+        return live;
+    }
+
+    public void accessAll(PageStream pages) {
+        while (pages.hasNext()) {
+            access(pages.nextPage());
+        }
+    }
+
+    public MissRatioCurve getCurve() {
+        return new MissRatioCurve(totalRequests, coldMisses, histogram, maxDistance);
+    }
+
+    public static MissRatioCurve analyze(int[] pages) {
+        StackDistanceAnalyzer analyzer = new StackDistanceAnalyzer();
+        for (int page : pages) analyzer.access(page);
+        return analyzer.getCurve();
+    }
+
+    public static MissRatioCurve analyze(PageStream pages) {
+        StackDistanceAnalyzer analyzer = new StackDistanceAnalyzer();
+        analyzer.accessAll(pages);
+        return analyzer.getCurve();
+    }
+
+    private void record(int distance) {
+        if (distance >= histogram.length) {
+            histogram = Arrays.copyOf(histogram, Math.max(histogram.length * 2, distance + 1));
+        }
+        histogram[distance]++;
+        if (distance > maxDistance) maxDistance = distance;
+    }
+
+    /**
+     * Renumbers the surviving last-access slots 0..live-1 in time order and rebuilds
+     * the tree. Grows the table first if it is more than half full of live slots.
+     */
+    private void compact() {
+        int capacity = pageAt.length;
+        if (live > capacity / 2) capacity *= 2;
+
+        int[] newPageAt = new int[capacity];
+        Arrays.fill(newPageAt, FREE);
+        int n = 0;
+        for (int slot = 0; slot < nextSlot; slot++) {
+            int page = pageAt[slot];
+            if (page == FREE) continue;
+            newPageAt[n] = page;
+            lastSlot.put(page, n);
+            n++;
+        }
+        pageAt = newPageAt;
+        nextSlot = n;
+
+        // Linear-time Fenwick build: ones in positions 1..n, pushed up to parents
+        tree = new int[capacity + 1];
+        for (int i = 1; i <= capacity; i++) {
+            if (i <= n) tree[i] += 1;
+            int parent = i + (i & -i);
+            if (parent <= capacity) tree[parent] += tree[i];
+        }
+    }
+
+    private void add(int i, int delta) {
+        for (; i < tree.length; i += i & -i) tree[i] += delta;
+    }
+
+    private int prefixSum(int i) {
+        int sum = 0;
+        for (; i > 0; i -= i & -i) sum += tree[i];
+        return sum;
+    }
+}
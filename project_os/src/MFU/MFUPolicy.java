@@ -0,0 +1,171 @@
+package MFU;
+
+import checkpoint.Checkpointable;
+import checkpoint.SnapshotInput;
+import checkpoint.SnapshotOutput;
+import engine.ReplacementPolicy;
+import utils.IntIntMap;
+
+import java.util.StringJoiner;
+
+/**
+ * Indexed MFU engine with the same rules as {@link MFU_main#simulateMFU(int[], int)}:
+ * evict the highest frequency, ties broken by earliest arrival.
+ * <p>
+ * Resident slots sit in an indexed binary max-heap ordered by (frequency, then
+ * older arrival). Pure frequency buckets cannot keep arrival order when a page is
+ * promoted past newer pages, so the heap is what keeps the original tie-breaker
+ * exact. Hits are an O(1) index lookup plus an O(log n) sift-up, and the victim is
+ * always the root. All state is in primitive arrays; nothing is boxed.
+ * <p>
+ * Empty slots are filled in index order and a victim's slot is reused, so the
+ * slot layout is the same as the frame list in {@code simulateMFU}.
+ */
+public class MFUPolicy implements ReplacementPolicy, Checkpointable {
+
+    private final int capacity;
+    private final int[] pages;      // slot -> page ID
+    private final int[] frequency;  // slot -> hits since arrival + 1
+    private final long[] arrival;   // slot -> time of arrival
+    private final int[] heap;       // heap position -> slot
+    private final int[] heapPos;    // slot -> heap position
+    private final IntIntMap index;  // page ID -> slot
+
+    private int used = 0;
+    private long timer = 0;
+
+    public MFUPolicy(int capacity) {
+        if (capacity <= 0) throw new IllegalArgumentException("Number of frames must be greater than 0.");
+        this.capacity = capacity;
+        this.pages = new int[capacity];
+        this.frequency = new int[capacity];
+        this.arrival = new long[capacity];
+        this.heap = new int[capacity];
+        this.heapPos = new int[capacity];
+        this.index = new IntIntMap(capacity);
+    }
+
+    @Override
+    public boolean access(int page) {
+        timer++;
+        int slot = index.get(page);
+
+        // 1. HIT: bump frequency, which can only move the slot towards the root
+        if (slot != IntIntMap.MISSING) {
+            frequency[slot]++;
+            siftUp(heapPos[slot]);
+            return true;
+        }
+
+        // 2. FAULT: fill an empty slot, or recycle the root (the MFU victim)
+        if (used < capacity) {
+            slot = used;
+            heap[used] = slot;
+            heapPos[slot] = used;
+            used++;
+            fill(slot, page);
+            siftUp(heapPos[slot]);
+        } else {
+            slot = heap[0];
+            index.remove(pages[slot]);
+            fill(slot, page);
+            siftDown(0);
+        }
+        return false;
+    }
+
+    private void fill(int slot, int page) {
+        pages[slot] = page;
+        frequency[slot] = 1;
+        arrival[slot] = timer;
+        index.put(page, slot);
+    }
+
+    /** True when slot a should be evicted before slot b. */
+    private boolean before(int a, int b) {
+        if (frequency[a] != frequency[b]) return frequency[a] > frequency[b];
+        return arrival[a] < arrival[b];
+    }
+
+    private void siftUp(int pos) {
+        int slot = heap[pos];
+        while (pos > 0) {
+            int parent = (pos - 1) >>> 1;
+            int p = heap[parent];
+            if (!before(slot, p)) break;
+            heap[pos] = p;
+            heapPos[p] = pos;
+            pos = parent;
+        }
+        heap[pos] = slot;
+        heapPos[slot] = pos;
+    }
+
+    private void siftDown(int pos) {
+        int slot = heap[pos];
+        while (true) {
+            int child = 2 * pos + 1;
+            if (child >= used) break;
+            if (child + 1 < used && before(heap[child + 1], heap[child])) child++;
+            int c = heap[child];
+            if (!before(c, slot)) break;
+            heap[pos] = c;
+            heapPos[c] = pos;
+            pos = child;
+        }
+        heap[pos] = slot;
+        heapPos[slot] = pos;
+    }
+
+    /** Frames in slot order, e.g. "[7, 0, 1]". */
+    public String getFrameState() {
+        StringJoiner sj = new StringJoiner(", ", "[", "]");
+        for (int i = 0; i < used; i++) {
+            sj.add(String.valueOf(pages[i]));
+        }
+        return sj.toString();
+    }
+
+    @Override
+    public int copyFrames(int[] dest, int offset, int max) {
+        int n = Math.min(used, max);
+        System.arraycopy(pages, 0, dest, offset, n);
+        return n;
+    }
+
+    @Override
+    public int getFrameCount() {
+        return capacity;
+    }
+
+    @Override
+    public String getName() {
+        return "MFU";
+    }
+
+    @Override
+    public void saveState(SnapshotOutput out) {
+        out.writeInts(pages);
+        out.writeInts(frequency);
+        out.writeLongs(arrival);
+        out.writeInts(heap);
+        out.writeInts(heapPos);
+        out.writeInt(used);
+        out.writeLong(timer);
+    }
+
+    @Override
+    public void restoreState(SnapshotInput in) {
+        in.readInts(pages);
+        in.readInts(frequency);
+        in.readLongs(arrival);
+        in.readInts(heap);
+        in.readInts(heapPos);
+        used = in.readInt();
+        timer = in.readLong();
+        index.clear();
+        for (int slot = 0; slot < used; slot++) {
+            index.put(pages[slot], slot);
+        }
+    }
+}
@@ -33,44 +33,24 @@ public class MFU_main {
     }
 
     public static void simulateMFU(int[] pages, int capacity) {
-        List<Integer> frames = new ArrayList<>();
-        Map<Integer, Integer> currentFrequency = new HashMap<>();
-        Map<Integer, Integer> arrivalTime = new HashMap<>();
+        // Indexed engine: hash lookup for hits, max-heap for the victim
+        MFUPolicy mfu = new MFUPolicy(capacity);
 
         int pageFaults = 0;
-        int timer = 0;
 
         System.out.println("\nRef | Frames               | Status");
         System.out.println("------------------------------------");
 
         for (int page : pages) {
-            timer++;
             String status;
 
-            if (frames.contains(page)) {
+            if (mfu.access(page)) {
                 status = "Hit";
-                currentFrequency.put(page, currentFrequency.get(page) + 1);
             } else {
                 status = "Fault";
                 pageFaults++;
-
-                if (frames.size() < capacity) {
-                    frames.add(page);
-                } else {
-                    int victimIndex = findVictimIndex(frames, currentFrequency, arrivalTime);
-                    int removedPage = frames.get(victimIndex);
-
-                    // Reset stats for evicted page
-                    currentFrequency.remove(removedPage);
-                    arrivalTime.remove(removedPage);
-
-                    // Replace in the specific frame slot
-                    frames.set(victimIndex, page);
-                }
-                currentFrequency.put(page, 1);
-                arrivalTime.put(page, timer);
             }
-            System.out.printf("%-3d | %-20s | %s\n", page, frames.toString(), status);
+            System.out.printf("%-3d | %-20s | %s\n", page, mfu.getFrameState(), status);
         }
 
         System.out.println("------------------------------------");
@@ -79,27 +59,6 @@ public class MFU_main {
         System.out.printf("Fault Rate: %.2f%%\n", (double) pageFaults / pages.length * 100);
     }
 
-    private static int findVictimIndex(List<Integer> frames, Map<Integer, Integer> freqMap, Map<Integer, Integer> arrivalMap) {
-        int victimIdx = 0;
-        int maxFreq = -1;
-
-        for (int i = 0; i < frames.size(); i++) {
-            int currentPage = frames.get(i);
-            int currentFreq = freqMap.get(currentPage);
-
-            if (currentFreq > maxFreq) {
-                maxFreq = currentFreq;
-                victimIdx = i;
-            } else if (currentFreq == maxFreq) {
-                // FIFO Tie-breaker
-                if (arrivalMap.get(currentPage) < arrivalMap.get(frames.get(victimIdx))) {
-                    victimIdx = i;
-                }
-            }
-        }
-        return victimIdx;
-    }
-
     // NEW HELPER: Ensures page numbers are 0 or higher and not text
     private static int getValidNonNegativeInt(Scanner sc, String prompt) {
         while (true) {
@@ -1,10 +1,14 @@
 
 
 import Clock.ClockManager;
+import cli.CommandLine;
 import FIFO.FIFO_main;
 import LFU.LFUPageReplacement;
 import LRU.LRUCache;
 import MFU.MFU_main;
+import OPT.OPT_main;
+import engine.PolicyType;
+import engine.SimulationDriver;
 
 
 import java.util.Scanner;
@@ -14,6 +18,11 @@ public class Main {
     private static final Scanner scanner = new Scanner(System.in);
 
     public static void main(String[] args) {
+        // Batch mode: "java Main replay <trace> <frames> ..." (see cli.CommandLine)
+        if (args.length > 0) {
+            System.exit(CommandLine.run(args));
+        }
+
         System.out.println("==================================================");
         System.out.println("       UNIFIED PAGE REPLACEMENT SYSTEM           ");
         System.out.println("==================================================");
@@ -32,6 +41,8 @@ public class Main {
             System.out.println("3. LRU  (Least Recently Used)");
             System.out.println("4. MFU  (Most Frequently Used)");
             System.out.println("5. FIFO (First-In, First-Out)");
+            System.out.println("6. Compare All (summary only)");
+            System.out.println("7. OPT  (Belady Optimal, for reference)");
             System.out.println("0. Exit");
             System.out.print(">> Choice: ");
 
@@ -60,6 +71,12 @@ public class Main {
                 case 5:
                     runFIFODelegate(frameCount, pages);
                     break;
+                case 6:
+                    runCompareAllDelegate(frameCount, pages);
+                    break;
+                case 7:
+                    runOPTDelegate(frameCount, pages);
+                    break;
                 case 0:
                     System.out.println("Exiting...");
                     return;
@@ -129,6 +146,20 @@ public class Main {
         FIFO_main.simulateFIFO(frames, pages);
     }
 
+    // 6. ALL: Headless run of every policy through the shared engine (no per-step output)
+    private static void runCompareAllDelegate(int frames, int[] pages) {
+        System.out.println("[Running all policies headless...]");
+        for (PolicyType type : PolicyType.values()) {
+            System.out.println(SimulationDriver.run(type.create(frames, pages), pages));
+        }
+    }
+
+    // 7. OPT: Offline optimum, to see how far the online policies are from it
+    private static void runOPTDelegate(int frames, int[] pages) {
+        System.out.println("[Calling OPT Simulation...]");
+        OPT_main.simulateOPT(pages, frames);
+    }
+
     // =========================================================
     //      INPUT VALIDATION HELPERS
     // =========================================================
@@ -0,0 +1,163 @@
+package OPT;
+
+import engine.ReplacementPolicy;
+import utils.IntIntMap;
+
+import java.util.Arrays;
+import java.util.StringJoiner;
+
+/**
+ * Belady's optimal (OPT) policy: evict the page whose next use is furthest in the future.
+ * <p>
+ * OPT is offline, so it is built for one reference string. A single backward pass
+ * precomputes {@code nextUse[i]}, the index of the next reference to the same page
+ * after position {@code i}. Resident slots sit in an indexed max-heap keyed by next
+ * use, so each reference costs O(log frames) instead of a forward scan of the trace.
+ */
+public class OPTPolicy implements ReplacementPolicy {
+
+    /** Next-use value for a page that is never referenced again. */
+    public static final int NEVER = Integer.MAX_VALUE;
+
+    private final int capacity;
+    private final int[] trace;
+    private final int[] nextUse;
+    private final int[] pages;     // slot -> page ID
+    private final int[] key;       // slot -> index of that page's next reference
+    private final int[] heap;      // heap position -> slot (root = furthest next use)
+    private final int[] heapPos;   // slot -> heap position
+    private final IntIntMap index; // page ID -> slot
+
+    private int used = 0;
+    private int cursor = 0;        // position in the trace of the next access
+
+    public OPTPolicy(int capacity, int[] trace) {
+        this(capacity, trace, buildNextUse(trace));
+    }
+
+    /** Shares a next-use array built by {@link #buildNextUse(int[])} between instances. */
+    public OPTPolicy(int capacity, int[] trace, int[] nextUse) {
+        if (capacity <= 0) throw new IllegalArgumentException("Number of frames must be greater than 0.");
+        if (nextUse.length != trace.length) throw new IllegalArgumentException("Next-use array does not match the trace.");
+        this.capacity = capacity;
+        this.trace = trace;
+        this.nextUse = nextUse;
+        this.pages = new int[capacity];
+        this.key = new int[capacity];
+        this.heap = new int[capacity];
+        this.heapPos = new int[capacity];
+        this.index = new IntIntMap(capacity);
+    }
+
+    /** One backward pass: nextUse[i] = next index referencing pages[i], or {@link #NEVER}. */
+    public static int[] buildNextUse(int[] trace) {
+        int[] nextUse = new int[trace.length];
+        IntIntMap seen = new IntIntMap(1024);
+        for (int i = trace.length - 1; i >= 0; i--) {
+            int later = seen.get(trace[i]);
+            nextUse[i] = (later == IntIntMap.MISSING) ? NEVER : later;
+            seen.put(trace[i], i);
+        }
+        return nextUse;
+    }
+
+    @Override
+    public boolean access(int page) {
+        if (cursor >= trace.length || trace[cursor] != page) {
+            throw new IllegalStateException("OPT was built for a different reference string (position " + cursor + ").");
+        }
+        int next = nextUse[cursor++];
+        int slot = index.get(page);
+
+        // 1. HIT: the page's next use moves later, so it can only rise in the heap
+        if (slot != IntIntMap.MISSING) {
+            key[slot] = next;
+            siftUp(heapPos[slot]);
+            return true;
+        }
+
+        // 2. FAULT: fill an empty slot, or replace the root (used furthest in the future)
+        if (used < capacity) {
+            slot = used;
+            heap[used] = slot;
+            heapPos[slot] = used;
+            used++;
+            fill(slot, page, next);
+            siftUp(heapPos[slot]);
+        } else {
+            slot = heap[0];
+            index.remove(pages[slot]);
+            fill(slot, page, next);
+            siftDown(0);
+        }
+        return false;
+    }
+
+    private void fill(int slot, int page, int next) {
+        pages[slot] = page;
+        key[slot] = next;
+        index.put(page, slot);
+    }
+
+    /** True when slot a should be evicted before slot b. */
+    private boolean before(int a, int b) {
+        if (key[a] != key[b]) return key[a] > key[b];
+        return a < b;
+    }
+
+    private void siftUp(int pos) {
+        int slot = heap[pos];
+        while (pos > 0) {
+            int parent = (pos - 1) >>> 1;
+            int p = heap[parent];
+            if (!before(slot, p)) break;
+            heap[pos] = p;
+            heapPos[p] = pos;
+            pos = parent;
+        }
+        heap[pos] = slot;
+        heapPos[slot] = pos;
+    }
+
+    private void siftDown(int pos) {
+        int slot = heap[pos];
+        while (true) {
+            int child = 2 * pos + 1;
+            if (child >= used) break;
+            if (child + 1 < used && before(heap[child + 1], heap[child])) child++;
+            int c = heap[child];
+            if (!before(c, slot)) break;
+            heap[pos] = c;
+            heapPos[c] = pos;
+            pos = child;
+        }
+        heap[pos] = slot;
+        heapPos[slot] = pos;
+    }
+
+    /** Frames in slot order, e.g. "[7, 0, 1]". */
+    public String getFrameState() {
+        StringJoiner sj = new StringJoiner(", ", "[", "]");
+        for (int i = 0; i < used; i++) {
+            sj.add(String.valueOf(pages[i]));
+        }
+        return sj.toString();
+    }
+
+    @Override
+    public int copyFrames(int[] dest, int offset, int max) {
+        int n = Math.min(used, max);
+        System.arraycopy(pages, 0, dest, offset, n);
+        return n;
+    }
+
+    @Override
+    public int getFrameCount() {
+        return capacity;
+    }
+
+    @Override
+    public String getName() {
+        return "OPT";
+    }
+}
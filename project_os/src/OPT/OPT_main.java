@@ -0,0 +1,34 @@
+package OPT;
+
+public class OPT_main {
+
+    /**
+     * Step-by-step Belady OPT run, in the same table format as LRU and MFU.
+     */
+    public static void simulateOPT(int[] pages, int capacity) {
+        OPTPolicy opt = new OPTPolicy(capacity, pages);
+
+        int pageFaults = 0;
+
+        System.out.println("\n--- OPT (Belady) Simulation ---");
+        System.out.println("Ref | Frames               | Status");
+        System.out.println("------------------------------------");
+
+        for (int page : pages) {
+            String status;
+
+            if (opt.access(page)) {
+                status = "Hit";
+            } else {
+                status = "Fault";
+                pageFaults++;
+            }
+            System.out.printf("%-3d | %-20s | %s\n", page, opt.getFrameState(), status);
+        }
+
+        System.out.println("------------------------------------");
+        System.out.println("Total Hits: " + (pages.length - pageFaults));
+        System.out.println("Total Page Faults: " + pageFaults);
+        System.out.printf("Fault Rate: %.2f%%\n", (double) pageFaults / pages.length * 100);
+    }
+}
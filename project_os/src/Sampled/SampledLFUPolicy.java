@@ -0,0 +1,39 @@
+package Sampled;
+
+/**
+ * Approximate LFU: evicts the least frequently used of a few sampled frames,
+ * ties going to the one touched least recently, as in {@link LFU.LFUPolicy}.
+ */
+public class SampledLFUPolicy extends SampledPolicy {
+
+    private final int[] frequency; // slot -> references since arrival
+
+    public SampledLFUPolicy(int frames) {
+        this(frames, DEFAULT_SAMPLES, DEFAULT_POOL);
+    }
+
+    public SampledLFUPolicy(int frames, int samples, int poolSize) {
+        super(frames, samples, poolSize);
+        this.frequency = new int[frames];
+    }
+
+    @Override
+    protected int frequency(int slot) {
+        return frequency[slot];
+    }
+
+    @Override
+    protected void onHit(int slot) {
+        if (frequency[slot] < Integer.MAX_VALUE) frequency[slot]++;
+    }
+
+    @Override
+    protected void onInsert(int slot) {
+        frequency[slot] = 1;
+    }
+
+    @Override
+    public String getName() {
+        return "LFU~" + getSamples();
+    }
+}
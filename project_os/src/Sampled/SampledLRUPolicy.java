@@ -0,0 +1,33 @@
+package Sampled;
+
+/**
+ * Approximate LRU: evicts the least recently used of a few sampled frames.
+ */
+public class SampledLRUPolicy extends SampledPolicy {
+
+    public SampledLRUPolicy(int frames) {
+        this(frames, DEFAULT_SAMPLES, DEFAULT_POOL);
+    }
+
+    public SampledLRUPolicy(int frames, int samples, int poolSize) {
+        super(frames, samples, poolSize);
+    }
+
+    @Override
+    protected int frequency(int slot) {
+        return 0;
+    }
+
+    @Override
+    protected void onHit(int slot) {
+    }
+
+    @Override
+    protected void onInsert(int slot) {
+    }
+
+    @Override
+    public String getName() {
+        return "LRU~" + getSamples();
+    }
+}
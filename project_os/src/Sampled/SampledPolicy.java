@@ -0,0 +1,198 @@
+package Sampled;
+
+import engine.ReplacementPolicy;
+import utils.IntIntMap;
+
+/**
+ * Approximate eviction in the style of Redis: instead of keeping every resident
+ * page in an exact order, each fault samples {@code samples} random frames and
+ * evicts the best candidate among them.
+ * <p>
+ * Per frame there is only the page ID and its last-use time (plus whatever the
+ * subclass ranks by), so a hit is an index lookup and one store; nothing is
+ * linked, and a fault touches {@code samples} random frames instead of walking a
+ * list. With an eviction pool, the best candidates seen so far are kept between
+ * faults, sorted, so good victims found by earlier samples are not forgotten. A
+ * pooled candidate that has been used or replaced since is skipped.
+ * <p>
+ * Sampling uses a fixed-seed generator, so runs are reproducible.
+ */
+public abstract class SampledPolicy implements ReplacementPolicy {
+
+    public static final int DEFAULT_SAMPLES = 5;
+    public static final int DEFAULT_POOL = 16;
+
+    private final int frames;
+    private final int samples;
+    private final int poolSize;
+
+    private final int[] pages;        // slot -> page ID
+    private final long[] lastUse;     // slot -> time of the last reference
+    private final IntIntMap index;    // page ID -> slot
+
+    // Eviction pool, ordered worst candidate first, best last
+    private final int[] poolSlot;
+    private final int[] poolPage;
+    private final long[] poolUse;
+    private final int[] poolFreq;
+    private int poolCount = 0;
+
+    private int used = 0;
+    private long now = 0;
+    private long seed = 0x9E3779B97F4A7C15L;
+
+    /**
+     * @param samples  frames sampled per eviction
+     * @param poolSize candidates kept between evictions; 0 evicts the best of each sample
+     */
+    protected SampledPolicy(int frames, int samples, int poolSize) {
+        if (frames <= 0) throw new IllegalArgumentException("Number of frames must be greater than 0.");
+        if (samples <= 0) throw new IllegalArgumentException("Number of samples must be greater than 0.");
+        if (poolSize < 0) throw new IllegalArgumentException("Pool size must not be negative.");
+        this.frames = frames;
+        this.samples = samples;
+        this.poolSize = poolSize;
+        this.pages = new int[frames];
+        this.lastUse = new long[frames];
+        this.index = new IntIntMap(frames);
+        this.poolSlot = new int[poolSize];
+        this.poolPage = new int[poolSize];
+        this.poolUse = new long[poolSize];
+        this.poolFreq = new int[poolSize];
+    }
+
+    /** Rank of a resident slot besides recency; lower is evicted first. */
+    protected abstract int frequency(int slot);
+
+    protected abstract void onHit(int slot);
+
+    protected abstract void onInsert(int slot);
+
+    @Override
+    public boolean access(int page) {
+        now++;
+        int slot = index.get(page);
+
+        // 1. HIT: stamp it, nothing else moves
+        if (slot != IntIntMap.MISSING) {
+            lastUse[slot] = now;
+            onHit(slot);
+            return true;
+        }
+
+        // 2. FAULT: take an empty slot, or the best victim found by sampling
+        if (used < frames) {
+            slot = used++;
+        } else {
+            slot = (poolSize == 0) ? bestOfSample() : victimFromPool();
+            index.remove(pages[slot]);
+        }
+        pages[slot] = page;
+        lastUse[slot] = now;
+        index.put(page, slot);
+        onInsert(slot);
+        return false;
+    }
+
+    private int bestOfSample() {
+        int best = randomSlot();
+        for (int k = 1; k < samples; k++) {
+            int s = randomSlot();
+            if (evictsBefore(frequency(s), lastUse[s], frequency(best), lastUse[best])) best = s;
+        }
+        return best;
+    }
+
+    private int victimFromPool() {
+        while (true) {
+            for (int k = 0; k < samples; k++) {
+                offer(randomSlot());
+            }
+            // Best first; anything used or replaced since it was pooled is stale
+            while (poolCount > 0) {
+                int i = --poolCount;
+                int slot = poolSlot[i];
+                if (pages[slot] == poolPage[i] && lastUse[slot] == poolUse[i]) return slot;
+            }
+        }
+    }
+
+    /** Adds a sampled slot to the pool if it beats the worst candidate there. */
+    private void offer(int slot) {
+        int page = pages[slot];
+        long use = lastUse[slot];
+        int freq = frequency(slot);
+
+        // Drop an older entry for the same slot; it is either identical or stale
+        for (int i = 0; i < poolCount; i++) {
+            if (poolSlot[i] == slot) {
+                removeAt(i);
+                break;
+            }
+        }
+        if (poolCount == poolSize) {
+            if (!evictsBefore(freq, use, poolFreq[0], poolUse[0])) return;
+            removeAt(0);
+        }
+        // Insertion sort: entries before pos are worse victims than this one
+        int pos = poolCount;
+        while (pos > 0 && evictsBefore(poolFreq[pos - 1], poolUse[pos - 1], freq, use)) {
+            poolSlot[pos] = poolSlot[pos - 1];
+            poolPage[pos] = poolPage[pos - 1];
+            poolUse[pos] = poolUse[pos - 1];
+            poolFreq[pos] = poolFreq[pos - 1];
+            pos--;
+        }
+        poolSlot[pos] = slot;
+        poolPage[pos] = page;
+        poolUse[pos] = use;
+        poolFreq[pos] = freq;
+        poolCount++;
+    }
+
+    private void removeAt(int i) {
+        int tail = poolCount - i - 1;
+        System.arraycopy(poolSlot, i + 1, poolSlot, i, tail);
+        System.arraycopy(poolPage, i + 1, poolPage, i, tail);
+        System.arraycopy(poolUse, i + 1, poolUse, i, tail);
+        System.arraycopy(poolFreq, i + 1, poolFreq, i, tail);
+        poolCount--;
+    }
+
+    /** @return true if (freqA, useA) should be evicted before (freqB, useB) */
+    private static boolean evictsBefore(int freqA, long useA, int freqB, long useB) {
+        if (freqA != freqB) return freqA < freqB;
+        return useA < useB;
+    }
+
+    /** xorshift64*, reduced to [0, used) without division. */
+    private int randomSlot() {
+        long x = seed;
+        x ^= x >>> 12;
+        x ^= x << 25;
+        x ^= x >>> 27;
+        seed = x;
+        long r = (x * 0x2545F4914F6CDD1DL) >>> 32;
+        return (int) ((r * used) >>> 32);
+    }
+
+    @Override
+    public int copyFrames(int[] dest, int offset, int max) {
+        int n = Math.min(used, max);
+        System.arraycopy(pages, 0, dest, offset, n);
+        return n;
+    }
+
+    public int getSamples() {
+        return samples;
+    }
+
+    public int getPoolSize() {
+        return poolSize;
+    }
+
+    @Override
+    public int getFrameCount() {
+        return frames;
+    }
+}
@@ -0,0 +1,185 @@
+package TwoQ;
+
+import checkpoint.Checkpointable;
+import checkpoint.SnapshotInput;
+import checkpoint.SnapshotOutput;
+import engine.ReplacementPolicy;
+import utils.IntIntMap;
+
+/**
+ * Full 2Q (Johnson and Shasha), a scan-resistant LRU variant.
+ * <p>
+ * New pages enter A1in, a small FIFO of resident pages seen once. Pages pushed out
+ * of A1in are remembered (ID only) in the ghost FIFO A1out. Only a page referenced
+ * again while its ID is in A1out is promoted to Am, the main LRU. A long scan
+ * therefore cycles through A1in and never flushes Am.
+ * <p>
+ * A1in holds up to 25% of the frames and A1out remembers up to 50% as many IDs.
+ * Lists share a fixed pool of int-array nodes with a primitive page→node index,
+ * so every reference is O(1) and allocation-free.
+ */
+public class TwoQPolicy implements ReplacementPolicy, Checkpointable {
+
+    private static final int NIL = -1;
+    private static final int A1IN = 0;
+    private static final int A1OUT = 1;
+    private static final int AM = 2;
+
+    private final int frames;
+    private final int kIn;
+    private final int kOut;
+
+    private final int[] pageOf;
+    private final int[] listOf;
+    private final int[] prev;      // towards the head (newest / MRU)
+    private final int[] next;      // towards the tail (oldest / LRU)
+    private final IntIntMap index; // page ID -> node
+    private int freeNode = NIL;
+
+    private final int[] head = {NIL, NIL, NIL};
+    private final int[] tail = {NIL, NIL, NIL};
+    private final int[] size = new int[3];
+
+    public TwoQPolicy(int frames) {
+        if (frames <= 0) throw new IllegalArgumentException("Number of frames must be greater than 0.");
+        this.frames = frames;
+        this.kIn = Math.max(1, frames / 4);
+        this.kOut = Math.max(1, frames / 2);
+
+        int nodes = frames + kOut + 1;
+        this.pageOf = new int[nodes];
+        this.listOf = new int[nodes];
+        this.prev = new int[nodes];
+        this.next = new int[nodes];
+        this.index = new IntIntMap(nodes);
+        for (int n = nodes - 1; n >= 0; n--) {
+            next[n] = freeNode;
+            freeNode = n;
+        }
+    }
+
+    @Override
+    public boolean access(int page) {
+        int node = index.get(page);
+
+        if (node != IntIntMap.MISSING) {
+            int list = listOf[node];
+            if (list == AM) {
+                // Hot page: ordinary LRU hit
+                unlink(node);
+                pushHead(AM, node);
+                return true;
+            }
+            if (list == A1IN) {
+                // Still in its first-touch window: correlated reference, leave it alone
+                return true;
+            }
+            // Seen before and evicted from A1in: now it earns a place in Am.
+            // Leave A1out first so trimming A1out cannot release this node.
+            unlink(node);
+            reclaimFrame();
+            pushHead(AM, node);
+            return false;
+        }
+
+        reclaimFrame();
+        node = freeNode;
+        freeNode = next[node];
+        pageOf[node] = page;
+        index.put(page, node);
+        pushHead(A1IN, node);
+        return false;
+    }
+
+    /** Makes room for one more resident page if memory is full. */
+    private void reclaimFrame() {
+        if (size[A1IN] + size[AM] < frames) return;
+
+        if (size[A1IN] > kIn || size[AM] == 0) {
+            // Move the oldest A1in page to the ghost queue
+            int victim = tail[A1IN];
+            unlink(victim);
+            pushHead(A1OUT, victim);
+            if (size[A1OUT] > kOut) release(tail[A1OUT]);
+        } else {
+            release(tail[AM]);
+        }
+    }
+
+    private void release(int node) {
+        unlink(node);
+        index.remove(pageOf[node]);
+        next[node] = freeNode;
+        freeNode = node;
+    }
+
+    private void unlink(int node) {
+        int list = listOf[node];
+        int pv = prev[node];
+        int nx = next[node];
+        if (pv != NIL) next[pv] = nx; else head[list] = nx;
+        if (nx != NIL) prev[nx] = pv; else tail[list] = pv;
+        size[list]--;
+    }
+
+    private void pushHead(int list, int node) {
+        listOf[node] = list;
+        prev[node] = NIL;
+        next[node] = head[list];
+        if (head[list] != NIL) prev[head[list]] = node; else tail[list] = node;
+        head[list] = node;
+        size[list]++;
+    }
+
+    @Override
+    public int copyFrames(int[] dest, int offset, int max) {
+        int n = 0;
+        for (int node = head[A1IN]; node != NIL && n < max; node = next[node]) dest[offset + n++] = pageOf[node];
+        for (int node = head[AM]; node != NIL && n < max; node = next[node]) dest[offset + n++] = pageOf[node];
+        return n;
+    }
+
+    @Override
+    public int getFrameCount() {
+        return frames;
+    }
+
+    @Override
+    public String getName() {
+        return "2Q";
+    }
+
+    @Override
+    public void saveState(SnapshotOutput out) {
+        out.writeInts(pageOf);
+        out.writeInts(listOf);
+        out.writeInts(prev);
+        out.writeInts(next);
+        out.writeInt(freeNode);
+        out.writeInts(head);
+        out.writeInts(tail);
+        out.writeInts(size);
+    }
+
+    @Override
+    public void restoreState(SnapshotInput in) {
+        in.readInts(pageOf);
+        in.readInts(listOf);
+        in.readInts(prev);
+        in.readInts(next);
+        freeNode = in.readInt();
+        in.readInts(head);
+        in.readInts(tail);
+        in.readInts(size);
+
+        // Every node off the free list is in one of the three queues, and so in the index
+        boolean[] free = new boolean[pageOf.length];
+        for (int n = freeNode; n != NIL; n = next[n]) {
+            free[n] = true;
+        }
+        index.clear();
+        for (int n = 0; n < pageOf.length; n++) {
+            if (!free[n]) index.put(pageOf[n], n);
+        }
+    }
+}
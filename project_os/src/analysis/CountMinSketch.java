@@ -0,0 +1,48 @@
+package analysis;
+
+/**
+ * Count-min sketch (Cormode and Muthukrishnan) of per-page reference counts in
+ * fixed memory: {@code DEPTH} rows of {@code WIDTH} counters, 2 MB in all.
+ * <p>
+ * An estimate never undercounts. With conservative update (only the counters at
+ * the current minimum are raised) it overcounts by at most {@link #EPSILON} times
+ * the number of references, with probability at least 1 - e^-DEPTH (98%). The
+ * row indexes come from the two halves of one mixed hash (Kirsch and
+ * Mitzenmacher), so a page is hashed once however many rows there are.
+ */
+public class CountMinSketch {
+    private static final int DEPTH = 4;
+    private static final int WIDTH = 1 << 16;
+    private static final int MASK = WIDTH - 1;
+
+    /** Overcount bound as a fraction of all references: e / WIDTH. */
+    public static final double EPSILON = Math.E / WIDTH;
+
+    private final long[] counters = new long[DEPTH * WIDTH];
+
+    /**
+     * Counts one reference.
+     *
+     * @return the page's estimated count, including this reference
+     */
+    public long add(long hash) {
+        long estimate = estimate(hash) + 1;
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int row = 0; row < DEPTH; row++) {
+            int i = row * WIDTH + ((h1 + row * h2) & MASK);
+            if (counters[i] < estimate) counters[i] = estimate;
+        }
+        return estimate;
+    }
+
+    public long estimate(long hash) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        long min = Long.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            min = Math.min(min, counters[row * WIDTH + ((h1 + row * h2) & MASK)]);
+        }
+        return min;
+    }
+}
@@ -0,0 +1,96 @@
+package analysis;
+
+import utils.IntIntMap;
+
+/**
+ * The K pages with the largest estimated counts, as a min-heap on count so the
+ * page to displace is always on top. Counts only grow, so a tracked page only
+ * ever moves down the heap; an untracked page enters when its estimate beats the
+ * smallest tracked one.
+ */
+final class HeavyHitters {
+    private final int[] pages;
+    private final long[] counts;
+    private final IntIntMap position; // page -> heap index
+    private int size = 0;
+
+    HeavyHitters(int capacity) {
+        this.pages = new int[capacity];
+        this.counts = new long[capacity];
+        this.position = new IntIntMap(capacity);
+    }
+
+    /** Records that {@code page} now has an estimated {@code count} references. */
+    void offer(int page, long count) {
+        int i = position.get(page);
+        if (i != IntIntMap.MISSING) {
+            counts[i] = count;
+            siftDown(pages, counts, size, i, position);
+        } else if (size < pages.length) {
+            siftUp(size++, page, count);
+        } else if (count > counts[0]) {
+            position.remove(pages[0]);
+            pages[0] = page;
+            counts[0] = count;
+            position.put(page, 0);
+            siftDown(pages, counts, size, 0, position);
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * @param outPages  receives the tracked pages, most referenced first
+     * @param outCounts receives their counts
+     */
+    void sorted(int[] outPages, long[] outCounts) {
+        int[] heapPages = pages.clone();
+        long[] heapCounts = counts.clone();
+        // Heap sort on a copy: each pop moves the smallest to the end
+        for (int n = size; n > 0; n--) {
+            outPages[n - 1] = heapPages[0];
+            outCounts[n - 1] = heapCounts[0];
+            heapPages[0] = heapPages[n - 1];
+            heapCounts[0] = heapCounts[n - 1];
+            siftDown(heapPages, heapCounts, n - 1, 0, null);
+        }
+    }
+
+    private void siftUp(int i, int page, long count) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (counts[parent] <= count) break;
+            move(parent, i);
+            i = parent;
+        }
+        pages[i] = page;
+        counts[i] = count;
+        position.put(page, i);
+    }
+
+    private void move(int from, int to) {
+        pages[to] = pages[from];
+        counts[to] = counts[from];
+        position.put(pages[to], to);
+    }
+
+    private static void siftDown(int[] pages, long[] counts, int size, int i, IntIntMap position) {
+        int page = pages[i];
+        long count = counts[i];
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= size) break;
+            if (child + 1 < size && counts[child + 1] < counts[child]) child++;
+            if (counts[child] >= count) break;
+            pages[i] = pages[child];
+            counts[i] = counts[child];
+            if (position != null) position.put(pages[i], i);
+            i = child;
+        }
+        pages[i] = page;
+        counts[i] = count;
+        if (position != null) position.put(page, i);
+    }
+}
@@ -0,0 +1,65 @@
+package analysis;
+
+/**
+ * Weighted histogram over power-of-two buckets: bucket {@code k} holds values in
+ * [2^k, 2^(k+1)). Sixty-three buckets cover every positive long, so memory is
+ * fixed however wide the values spread. Counts are doubles because sampled
+ * references stand for 1/rate references each.
+ */
+public class LogHistogram {
+    private static final int BUCKETS = 63;
+
+    private final double[] counts = new double[BUCKETS];
+    private double total = 0;
+
+    /** Records {@code weight} references of {@code value} (at least 1). */
+    public void add(long value, double weight) {
+        counts[bucketOf(value)] += weight;
+        total += weight;
+    }
+
+    public static int bucketOf(long value) {
+        return 63 - Long.numberOfLeadingZeros(Math.max(1, value));
+    }
+
+    public double getCount(int bucket) {
+        return counts[bucket];
+    }
+
+    public double getTotal() {
+        return total;
+    }
+
+    /**
+     * Prints one row per bucket from the first to the last non-empty one. Counts
+     * are multiplied by {@code scale}; shares are relative to {@code references},
+     * so they include whatever the histogram does not count (e.g. first references).
+     */
+    public void display(String valueLabel, double references, double scale) {
+        int first = 0;
+        while (first < BUCKETS && counts[first] == 0) first++;
+        int last = BUCKETS - 1;
+        while (last >= 0 && counts[last] == 0) last--;
+
+        System.out.printf("%-24s | %-14s | %-8s | %s%n", valueLabel, "References", "Share", "Cumulative");
+        System.out.println("--------------------------------------------------------------------");
+        double cumulative = 0;
+        for (int k = first; k <= last; k++) {
+            double count = counts[k] * scale;
+            cumulative += count;
+            System.out.printf("%-24s | %14.0f | %7.2f%% | %9.2f%%%n", range(k), count,
+                    share(count, references), share(cumulative, references));
+        }
+        System.out.println("--------------------------------------------------------------------");
+    }
+
+    private static String range(int bucket) {
+        long low = 1L << bucket;
+        long high = bucket == BUCKETS - 1 ? Long.MAX_VALUE : (low << 1) - 1;
+        return low == high ? Long.toString(low) : low + "-" + high;
+    }
+
+    private static double share(double count, double references) {
+        return references > 0 ? count / references * 100 : 0;
+    }
+}
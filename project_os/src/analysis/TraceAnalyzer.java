@@ -0,0 +1,174 @@
+package analysis;
+
+import LRU.StackDistanceAnalyzer;
+import engine.PageStream;
+import shards.SampledPageSet;
+import utils.IntIntMap;
+
+import java.util.Arrays;
+
+/**
+ * One streaming pass over a trace that characterises its locality in bounded memory:
+ * <ul>
+ *   <li>a log-bucketed histogram of reuse distance (distinct pages between two
+ *       references to a page), whose cumulative share is the LRU hit ratio;</li>
+ *   <li>a log-bucketed histogram of the inter-reference gap (references between
+ *       two references to a page);</li>
+ *   <li>the number of distinct pages;</li>
+ *   <li>the most referenced pages, counted with a {@link CountMinSketch}.</li>
+ * </ul>
+ * Both histograms come from a {@link SampledPageSet} that tracks at most
+ * {@code maxPages} pages. While every page fits they are exact; beyond that the
+ * rate drops, each sampled reference counts for 1/rate references and reuse
+ * distances are scaled by 1/rate (as in {@link shards.ShardsAnalyzer}). The gap
+ * is measured on the full trace's clock, so it needs no scaling. A skewed trace
+ * can put a few very hot pages in or out of the sample, so the weighted counts are
+ * normalised to add up to the trace length. The page count
+ * is exact while the sample is complete and a {@link HyperLogLog} estimate after
+ * that. Popularity sees every reference.
+ */
+public class TraceAnalyzer {
+
+    public static final int DEFAULT_TOP = 10;
+    public static final int DEFAULT_MAX_PAGES = 1 << 20;
+
+    private final SampledPageSet sample;
+    private final StackDistanceAnalyzer stack = new StackDistanceAnalyzer();
+    private final LogHistogram reuseDistance = new LogHistogram();
+    private final LogHistogram gap = new LogHistogram();
+    private final HyperLogLog distinct = new HyperLogLog();
+    private final CountMinSketch counts = new CountMinSketch();
+    private final HeavyHitters top;
+
+    // Time of the last reference to each sampled page, in slots recycled as pages are dropped
+    private final IntIntMap lastSlot = new IntIntMap(1024);
+    private long[] lastTime = new long[1024];
+    private int[] freeSlots = new int[16];
+    private int freeCount = 0;
+    private int nextSlot = 0;
+
+    private long totalRequests = 0;
+    private long sampledRequests = 0;
+    private double firstReferences = 0;
+    private double sampledWeight = 0;
+
+    /**
+     * @param top      number of most referenced pages to report
+     * @param maxPages most pages tracked for the histograms
+     */
+    public TraceAnalyzer(int top, int maxPages) {
+        if (top <= 0) throw new IllegalArgumentException("Number of top pages must be greater than 0.");
+        this.sample = new SampledPageSet(1.0, maxPages);
+        this.top = new HeavyHitters(top);
+    }
+
+    public void access(int page) {
+        long time = totalRequests++;
+        long hash = SampledPageSet.hash(page);
+        distinct.add(hash);
+        top.offer(page, counts.add(hash));
+        if (!sample.contains(hash)) return;
+
+        sampledRequests++;
+        double rate = sample.getRate();
+        double weight = 1 / rate;
+        sampledWeight += weight;
+        int distance = stack.reference(page);
+        if (distance == 0) {
+            firstReferences += weight;
+            int slot = allocateSlot();
+            lastSlot.put(page, slot);
+            lastTime[slot] = time;
+            sample.add(page, hash, this::forget);
+            return;
+        }
+        int slot = lastSlot.get(page);
+        reuseDistance.add(Math.max(1, Math.round(distance / rate)), weight);
+        gap.add(time - lastTime[slot], weight);
+        lastTime[slot] = time;
+    }
+
+    public void accessAll(PageStream pages) {
+        while (pages.hasNext()) {
+            access(pages.nextPage());
+        }
+    }
+
+    public static TraceAnalyzer analyze(PageStream pages, int top, int maxPages) {
+        TraceAnalyzer analyzer = new TraceAnalyzer(top, maxPages);
+        analyzer.accessAll(pages);
+        return analyzer;
+    }
+
+    private int allocateSlot() {
+        if (freeCount > 0) return freeSlots[--freeCount];
+        if (nextSlot == lastTime.length) lastTime = Arrays.copyOf(lastTime, lastTime.length * 2);
+        return nextSlot++;
+    }
+
+    private void forget(int page) {
+        stack.forget(page);
+        int slot = lastSlot.remove(page);
+        if (freeCount == freeSlots.length) freeSlots = Arrays.copyOf(freeSlots, freeSlots.length * 2);
+        freeSlots[freeCount++] = slot;
+    }
+
+    public long getTotalRequests() { return totalRequests; }
+
+    public long getSampledRequests() { return sampledRequests; }
+
+    /** @return fraction of pages the histograms were sampled from at the end */
+    public double getRate() { return sample.getRate(); }
+
+    /** @return true when the distinct page count is exact rather than estimated */
+    public boolean isExact() { return sample.isComplete(); }
+
+    public long getDistinctPages() {
+        return sample.isComplete() ? stack.getDistinctPages() : distinct.estimate();
+    }
+
+    public LogHistogram getReuseDistance() { return reuseDistance; }
+
+    public LogHistogram getGap() { return gap; }
+
+    /** @return estimated references to first-time pages (cold misses in any memory) */
+    public double getFirstReferences() { return firstReferences * getScale(); }
+
+    /** @return factor that turns the histograms' weighted counts into references */
+    public double getScale() {
+        return sampledWeight > 0 ? totalRequests / sampledWeight : 0;
+    }
+
+    /** Prints the summary, both histograms and the most referenced pages. */
+    public void display() {
+        System.out.println("Total Requests: " + totalRequests);
+        if (isExact()) {
+            System.out.println("Distinct Pages: " + getDistinctPages() + " (exact)");
+        } else {
+            System.out.printf("Distinct Pages: ~%d (HyperLogLog, +/- %.2f%%)%n",
+                    getDistinctPages(), HyperLogLog.standardError() * 100);
+            System.out.printf("Histograms sampled at rate %.4f (%d references)%n", getRate(), sampledRequests);
+        }
+
+        System.out.println("\n--- Reuse distance (cumulative = LRU hit ratio with as many frames as the range's top) ---");
+        reuseDistance.display("Stack distance", totalRequests, getScale());
+        System.out.printf("First references: %.0f (%.2f%%)%n", getFirstReferences(),
+                totalRequests > 0 ? getFirstReferences() / totalRequests * 100 : 0);
+
+        System.out.println("\n--- Inter-reference gap ---");
+        gap.display("Gap (references)", totalRequests, getScale());
+
+        int[] pages = new int[top.size()];
+        long[] estimates = new long[top.size()];
+        top.sorted(pages, estimates);
+        System.out.printf("%n--- Top %d pages (count-min estimates, may overcount by up to %.0f) ---%n",
+                pages.length, Math.ceil(CountMinSketch.EPSILON * totalRequests));
+        System.out.println("Rank | Page         | References     | Share");
+        System.out.println("--------------------------------------------------");
+        for (int i = 0; i < pages.length; i++) {
+            System.out.printf("%-4d | %-12d | %14d | %6.2f%%%n", i + 1, pages[i], estimates[i],
+                    (double) estimates[i] / totalRequests * 100);
+        }
+        System.out.println("--------------------------------------------------");
+    }
+}
@@ -0,0 +1,51 @@
+package cache;
+
+/**
+ * Clock (Second Chance) over slots, with the same rules as {@link Clock.ClockPolicy}:
+ * a hit sets the reference bit, the hand clears set bits and evicts the first slot
+ * whose bit is already clear.
+ */
+final class ClockSlots implements SlotPolicy {
+
+    private final boolean[] referenced;
+    private final boolean[] occupied;
+    private int hand = 0;
+
+    ClockSlots(int capacity) {
+        this.referenced = new boolean[capacity];
+        this.occupied = new boolean[capacity];
+    }
+
+    @Override
+    public void onHit(int slot) {
+        referenced[slot] = true;
+    }
+
+    @Override
+    public void onInsert(int slot) {
+        occupied[slot] = true;
+        referenced[slot] = true;
+    }
+
+    @Override
+    public void onRemove(int slot) {
+        occupied[slot] = false;
+        referenced[slot] = false;
+    }
+
+    @Override
+    public int evict() {
+        // Terminates within two revolutions: the first one clears every bit
+        while (true) {
+            int slot = hand;
+            hand = (hand + 1 == occupied.length) ? 0 : hand + 1;
+            if (!occupied[slot]) continue;
+            if (referenced[slot]) {
+                referenced[slot] = false;
+            } else {
+                occupied[slot] = false;
+                return slot;
+            }
+        }
+    }
+}
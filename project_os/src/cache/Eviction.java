@@ -0,0 +1,27 @@
+package cache;
+
+/**
+ * Eviction policies available to {@link StripedCache}.
+ */
+public enum Eviction {
+    LRU {
+        @Override
+        SlotPolicy create(int capacity) {
+            return new LruSlots(capacity);
+        }
+    },
+    CLOCK {
+        @Override
+        SlotPolicy create(int capacity) {
+            return new ClockSlots(capacity);
+        }
+    },
+    LFU {
+        @Override
+        SlotPolicy create(int capacity) {
+            return new LfuSlots(capacity);
+        }
+    };
+
+    abstract SlotPolicy create(int capacity);
+}
@@ -0,0 +1,103 @@
+package cache;
+
+import java.util.Arrays;
+
+/**
+ * LFU over slots: an indexed binary min-heap ordered by (frequency, then older
+ * last touch), the mirror image of {@link MFU.MFUPolicy}. Ties go to the entry
+ * touched least recently, as in {@link LFU.LFUPolicy}.
+ */
+final class LfuSlots implements SlotPolicy {
+
+    private final int[] frequency;  // slot -> hits since insertion + 1
+    private final long[] touched;   // slot -> time of the last insert or hit
+    private final int[] heap;       // heap position -> slot
+    private final int[] heapPos;    // slot -> heap position, -1 if absent
+    private int size = 0;
+    private long timer = 0;
+
+    LfuSlots(int capacity) {
+        this.frequency = new int[capacity];
+        this.touched = new long[capacity];
+        this.heap = new int[capacity];
+        this.heapPos = new int[capacity];
+        Arrays.fill(heapPos, -1);
+    }
+
+    @Override
+    public void onHit(int slot) {
+        int pos = heapPos[slot];
+        if (pos < 0) return;
+        if (frequency[slot] < Integer.MAX_VALUE) frequency[slot]++;
+        touched[slot] = timer++;
+        siftDown(pos);
+    }
+
+    @Override
+    public void onInsert(int slot) {
+        frequency[slot] = 1;
+        touched[slot] = timer++;
+        heap[size] = slot;
+        heapPos[slot] = size;
+        siftUp(size++);
+    }
+
+    @Override
+    public void onRemove(int slot) {
+        removeAt(heapPos[slot]);
+    }
+
+    @Override
+    public int evict() {
+        int slot = heap[0];
+        removeAt(0);
+        return slot;
+    }
+
+    private void removeAt(int pos) {
+        int slot = heap[pos];
+        heapPos[slot] = -1;
+        int last = heap[--size];
+        if (pos == size) return;
+        heap[pos] = last;
+        heapPos[last] = pos;
+        siftDown(pos);
+        siftUp(heapPos[last]);
+    }
+
+    /** @return true if slot a should be evicted before slot b */
+    private boolean before(int a, int b) {
+        if (frequency[a] != frequency[b]) return frequency[a] < frequency[b];
+        return touched[a] < touched[b];
+    }
+
+    private void siftUp(int pos) {
+        int slot = heap[pos];
+        while (pos > 0) {
+            int parent = (pos - 1) >>> 1;
+            int p = heap[parent];
+            if (!before(slot, p)) break;
+            heap[pos] = p;
+            heapPos[p] = pos;
+            pos = parent;
+        }
+        heap[pos] = slot;
+        heapPos[slot] = pos;
+    }
+
+    private void siftDown(int pos) {
+        int slot = heap[pos];
+        while (true) {
+            int child = 2 * pos + 1;
+            if (child >= size) break;
+            if (child + 1 < size && before(heap[child + 1], heap[child])) child++;
+            int c = heap[child];
+            if (!before(c, slot)) break;
+            heap[pos] = c;
+            heapPos[c] = pos;
+            pos = child;
+        }
+        heap[pos] = slot;
+        heapPos[slot] = pos;
+    }
+}
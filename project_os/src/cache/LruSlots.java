@@ -0,0 +1,63 @@
+package cache;
+
+/**
+ * LRU order as an intrusive doubly linked list over slot arrays, as in
+ * {@link LRU.LRUPolicy} (head = most recent, tail = least recent).
+ */
+final class LruSlots implements SlotPolicy {
+
+    private static final int NIL = -1;
+
+    private final int[] prev;
+    private final int[] next;
+    private final boolean[] linked;
+    private int head = NIL;
+    private int tail = NIL;
+
+    LruSlots(int capacity) {
+        this.prev = new int[capacity];
+        this.next = new int[capacity];
+        this.linked = new boolean[capacity];
+    }
+
+    @Override
+    public void onHit(int slot) {
+        if (linked[slot] && slot != head) {
+            unlink(slot);
+            pushFront(slot);
+        }
+    }
+
+    @Override
+    public void onInsert(int slot) {
+        pushFront(slot);
+    }
+
+    @Override
+    public void onRemove(int slot) {
+        unlink(slot);
+    }
+
+    @Override
+    public int evict() {
+        int slot = tail;
+        unlink(slot);
+        return slot;
+    }
+
+    private void unlink(int slot) {
+        int p = prev[slot];
+        int n = next[slot];
+        if (p != NIL) next[p] = n; else head = n;
+        if (n != NIL) prev[n] = p; else tail = p;
+        linked[slot] = false;
+    }
+
+    private void pushFront(int slot) {
+        prev[slot] = NIL;
+        next[slot] = head;
+        if (head != NIL) prev[head] = slot; else tail = slot;
+        head = slot;
+        linked[slot] = true;
+    }
+}
@@ -0,0 +1,51 @@
+package cache;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded, lossy multi-producer ring of cache nodes that records reads without a
+ * lock. The owning segment drains it under its lock and replays the reads into its
+ * {@link SlotPolicy} in one batch.
+ * <p>
+ * When the ring is full, or another reader wins the race for the same cell, the
+ * read is simply dropped: eviction order is a heuristic, and losing a few hits
+ * under contention is far cheaper than making every reader wait.
+ */
+final class ReadBuffer {
+
+    static final int SIZE = 64; // power of two
+    private static final int MASK = SIZE - 1;
+
+    private final AtomicReferenceArray<StripedCache.Node<?, ?>> cells = new AtomicReferenceArray<>(SIZE); // null = empty
+    private final AtomicLong tail = new AtomicLong();
+    private volatile long head = 0;
+
+    /** @return false if the read was dropped because the ring is full */
+    boolean offer(StripedCache.Node<?, ?> node) {
+        long t = tail.get();
+        if (t - head >= SIZE) return false;
+        if (tail.compareAndSet(t, t + 1)) {
+            cells.lazySet((int) (t & MASK), node);
+        }
+        // Losing the CAS drops the read, but the ring is not full
+        return true;
+    }
+
+    /** Replays the buffered reads; caller must hold the segment lock. */
+    void drainTo(SlotPolicy policy, Object[] nodes) {
+        long h = head;
+        long t = tail.get();
+        while (h < t) {
+            int idx = (int) (h & MASK);
+            StripedCache.Node<?, ?> node = cells.get(idx);
+            if (node == null) break; // claimed but not yet written; pick it up next time
+            cells.lazySet(idx, null);
+            // The entry may have been removed or evicted since the read, and its slot
+            // given to another key; that key must not get the credit
+            if (nodes[node.slot] == node) policy.onHit(node.slot);
+            h++;
+        }
+        head = h;
+    }
+}
@@ -0,0 +1,26 @@
+package cache;
+
+/**
+ * Eviction order over the slots of one cache segment.
+ * <p>
+ * Unlike a {@link engine.ReplacementPolicy}, which owns the page→frame mapping and
+ * evicts silently, a slot policy only ranks slots: the segment decides when to
+ * insert or remove and asks the policy which slot to give up. All calls happen
+ * under the segment's lock.
+ */
+interface SlotPolicy {
+
+    /** An occupied slot was read or overwritten. */
+    void onHit(int slot);
+
+    /** A free slot now holds an entry. */
+    void onInsert(int slot);
+
+    /** An occupied slot was emptied explicitly. */
+    void onRemove(int slot);
+
+    /**
+     * Picks the slot to evict and forgets it. Only called when every slot is occupied.
+     */
+    int evict();
+}
@@ -0,0 +1,262 @@
+package cache;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Bounded, thread-safe key→value cache that evicts with the project's page
+ * replacement rules (LRU, Clock or LFU).
+ * <p>
+ * Entries live in one {@link ConcurrentHashMap}, so {@link #get} never takes a
+ * lock. Capacity is split over power-of-two many segments chosen by key hash; each
+ * segment owns a fixed set of slots, a {@link SlotPolicy} over them and a lock.
+ * A read only records its node in the segment's lossy {@link ReadBuffer}; the
+ * policy catches up in batches, whenever a writer holds the lock anyway or the
+ * buffer fills. Writes take only their own segment's lock, so writers of different
+ * segments never meet.
+ * <p>
+ * Eviction is per segment, so the cache as a whole is approximately (not exactly)
+ * LRU/Clock/LFU, and a read that races with eviction may still see the evicted
+ * value. Null keys and values are not allowed.
+ */
+public class StripedCache<K, V> {
+
+    private final ConcurrentHashMap<K, Node<K, V>> map;
+    private final Segment[] segments;
+    private final int segmentMask;
+    private final int capacity;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /** Uses four segments per available processor, as far as the capacity allows. */
+    public StripedCache(int capacity, Eviction eviction) {
+        this(capacity, eviction, 4 * Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param segments wanted number of lock stripes; rounded down to a power of two
+     *                 and to at most one stripe per entry
+     */
+    public StripedCache(int capacity, Eviction eviction, int segments) {
+        if (capacity <= 0) throw new IllegalArgumentException("Capacity must be greater than 0.");
+        if (segments <= 0) throw new IllegalArgumentException("Number of segments must be greater than 0.");
+        Objects.requireNonNull(eviction, "eviction");
+        int count = Integer.highestOneBit(Math.min(segments, capacity));
+        this.capacity = capacity;
+        this.segments = new Segment[count];
+        for (int i = 0; i < count; i++) {
+            // Spread the remainder so the segment capacities add up exactly
+            int size = capacity / count + (i < capacity % count ? 1 : 0);
+            this.segments[i] = new Segment(size, eviction);
+        }
+        this.segmentMask = count - 1;
+        this.map = new ConcurrentHashMap<>(capacity + capacity / 3);
+    }
+
+    /** @return the cached value, or null; never blocks */
+    public V get(K key) {
+        Node<K, V> node = map.get(key);
+        if (node == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        segmentFor(key).recordRead(node);
+        return node.value;
+    }
+
+    /**
+     * Returns the cached value, loading and caching it on a miss. Concurrent
+     * callers for keys of the same segment wait for the load.
+     */
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        V value = get(key);
+        if (value != null) return value;
+        Segment segment = segmentFor(key);
+        segment.lock.lock();
+        try {
+            Node<K, V> node = map.get(key);
+            if (node != null) return node.value;
+            value = Objects.requireNonNull(loader.apply(key), "loader returned null");
+            insert(segment, key, value);
+            return value;
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    /** @return the previous value, or null */
+    public V put(K key, V value) {
+        Objects.requireNonNull(value, "value");
+        Segment segment = segmentFor(key);
+        segment.lock.lock();
+        try {
+            segment.drainReads();
+            Node<K, V> node = map.get(key);
+            if (node != null) {
+                V old = node.value;
+                node.value = value;
+                segment.policy.onHit(node.slot);
+                return old;
+            }
+            insert(segment, key, value);
+            return null;
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    /** @return the removed value, or null */
+    public V remove(K key) {
+        Segment segment = segmentFor(key);
+        segment.lock.lock();
+        try {
+            segment.drainReads();
+            Node<K, V> node = map.remove(key);
+            if (node == null) return null;
+            segment.policy.onRemove(node.slot);
+            segment.free(node.slot);
+            return node.value;
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    /** Caller holds the segment lock and has checked the key is absent. */
+    private void insert(Segment segment, K key, V value) {
+        // Pending reads count toward the eviction choice below
+        segment.drainReads();
+        int slot = segment.takeFreeSlot();
+        if (slot < 0) {
+            slot = segment.policy.evict();
+            @SuppressWarnings("unchecked")
+            Node<K, V> victim = (Node<K, V>) segment.nodes[slot];
+            map.remove(victim.key, victim);
+            segment.nodes[slot] = null;
+            evictions.increment();
+        }
+        Node<K, V> node = new Node<>(key, value, slot);
+        segment.nodes[slot] = node;
+        map.put(key, node);
+        segment.policy.onInsert(slot);
+    }
+
+    /** Applies every buffered read now instead of at the next write. */
+    public void cleanUp() {
+        for (Segment segment : segments) {
+            segment.lock.lock();
+            try {
+                segment.drainReads();
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+    }
+
+    private Segment segmentFor(Object key) {
+        int h = key.hashCode();
+        // Different bits than ConcurrentHashMap's bucket index, so stripes stay balanced
+        h ^= (h >>> 16);
+        h *= 0x9E3779B1;
+        return segments[(h >>> 16) & segmentMask];
+    }
+
+    public int size() {
+        return map.size();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int getSegmentCount() {
+        return segments.length;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    public double getHitRate() {
+        long h = hits.sum();
+        long total = h + misses.sum();
+        return total > 0 ? (double) h / total * 100 : 0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("StripedCache | size=%d/%d | segments=%d | hits=%d | misses=%d | evictions=%d | hit rate=%.2f%%",
+                size(), capacity, segments.length, getHits(), getMisses(), getEvictions(), getHitRate());
+    }
+
+    static final class Node<K, V> {
+        final K key;
+        final int slot;
+        volatile V value;
+
+        Node(K key, V value, int slot) {
+            this.key = key;
+            this.value = value;
+            this.slot = slot;
+        }
+    }
+
+    /** One lock stripe: a fixed set of slots and their eviction order. */
+    private static final class Segment {
+        final ReentrantLock lock = new ReentrantLock();
+        final SlotPolicy policy;
+        final Object[] nodes;    // slot -> Node, null if free
+        final int[] freeSlots;
+        final ReadBuffer reads = new ReadBuffer();
+        int freeCount;
+
+        Segment(int capacity, Eviction eviction) {
+            this.policy = eviction.create(capacity);
+            this.nodes = new Object[capacity];
+            this.freeSlots = new int[capacity];
+            // Popped from the top, so slots fill in order 0, 1, 2...
+            for (int i = 0; i < capacity; i++) {
+                freeSlots[i] = capacity - 1 - i;
+            }
+            this.freeCount = capacity;
+        }
+
+        void recordRead(Node<?, ?> node) {
+            // A full ring is drained by whoever gets the lock; the others move on
+            if (!reads.offer(node) && lock.tryLock()) {
+                try {
+                    drainReads();
+                    if (nodes[node.slot] == node) policy.onHit(node.slot);
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+
+        void drainReads() {
+            reads.drainTo(policy, nodes);
+        }
+
+        int takeFreeSlot() {
+            return freeCount > 0 ? freeSlots[--freeCount] : -1;
+        }
+
+        void free(int slot) {
+            nodes[slot] = null;
+            freeSlots[freeCount++] = slot;
+        }
+    }
+}
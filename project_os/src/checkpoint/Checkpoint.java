@@ -0,0 +1,175 @@
+package checkpoint;
+
+import engine.ReplacementPolicy;
+import trace.TraceSource;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * A checkpoint read back from disk: which trace it was taken on and how far into
+ * it the run was, and the saved state and fault count of each policy.
+ */
+public final class Checkpoint {
+
+    private final String trace;
+    private final long requests;
+    private final long traceHash;
+    private final long elapsed;
+    private final String[] names;
+    private final int[] frames;
+    private final long[] faults;
+    private final ByteBuffer[] states;
+
+    private Checkpoint(String trace, long requests, long traceHash, long elapsed,
+                       String[] names, int[] frames, long[] faults, ByteBuffer[] states) {
+        this.trace = trace;
+        this.requests = requests;
+        this.traceHash = traceHash;
+        this.elapsed = elapsed;
+        this.names = names;
+        this.frames = frames;
+        this.faults = faults;
+        this.states = states;
+    }
+
+    public static Checkpoint read(Path path) throws IOException {
+        ByteBuffer data;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < 8 + CheckpointFormat.CRC_BYTES || size > Integer.MAX_VALUE) {
+                throw new IOException("Not a checkpoint file (bad size): " + path);
+            }
+            data = ByteBuffer.allocate((int) size).order(CheckpointFormat.ORDER);
+            while (data.hasRemaining()) {
+                if (channel.read(data) < 0) break;
+            }
+            data.flip();
+        }
+        if (data.getInt() != CheckpointFormat.MAGIC) {
+            throw new IOException("Not a checkpoint file (bad magic): " + path);
+        }
+        int version = data.getInt();
+        if (version != CheckpointFormat.VERSION) {
+            throw new IOException("Unsupported checkpoint version " + version + ": " + path);
+        }
+        int body = data.limit() - CheckpointFormat.CRC_BYTES;
+        CRC32 crc = new CRC32();
+        crc.update(data.duplicate().position(0).limit(body));
+        if ((int) crc.getValue() != data.getInt(body)) {
+            throw new IOException("Checkpoint is corrupt (checksum mismatch): " + path);
+        }
+        data.limit(body);
+
+        try {
+            String trace = readString(data);
+            long requests = data.getLong();
+            long traceHash = data.getLong();
+            long elapsed = data.getLong();
+            int count = data.getInt();
+            if (count < 0 || count > body) throw new IOException("Checkpoint is corrupt (policy count): " + path);
+            String[] names = new String[count];
+            int[] frames = new int[count];
+            long[] faults = new long[count];
+            ByteBuffer[] states = new ByteBuffer[count];
+            for (int i = 0; i < count; i++) {
+                names[i] = readString(data);
+                frames[i] = data.getInt();
+                faults[i] = data.getLong();
+                int length = data.getInt();
+                states[i] = data.slice(data.position(), length);
+                data.position(data.position() + length);
+            }
+            return new Checkpoint(trace, requests, traceHash, elapsed, names, frames, faults, states);
+        } catch (RuntimeException e) {
+            // Lengths that run past the end despite a good checksum: written by something else
+            throw new IOException("Checkpoint is corrupt (bad layout): " + path, e);
+        }
+    }
+
+    private static String readString(ByteBuffer data) {
+        byte[] bytes = new byte[data.getInt()];
+        data.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /** @return the trace identity given to the {@link Checkpointer} that wrote this */
+    public String getTrace() {
+        return trace;
+    }
+
+    /** @return references of the trace already replayed */
+    public long getRequests() {
+        return requests;
+    }
+
+    /** @return hash of the references already replayed, to continue from */
+    public long getTraceHash() {
+        return traceHash;
+    }
+
+    /** @return nanoseconds spent replaying them, over all sessions so far */
+    public long getElapsedNanos() {
+        return elapsed;
+    }
+
+    /** @return the fault count of each policy so far */
+    public long[] getFaults() {
+        return faults.clone();
+    }
+
+    /**
+     * Loads the saved state into freshly built policies, which must be the same
+     * policies with the same frame counts, in the same order, as when it was taken.
+     */
+    public void restore(ReplacementPolicy[] policies) {
+        if (policies.length != names.length) {
+            throw new IllegalArgumentException("Checkpoint holds " + names.length + " policies, but "
+                    + policies.length + " were given.");
+        }
+        for (int i = 0; i < policies.length; i++) {
+            ReplacementPolicy policy = policies[i];
+            if (!policy.getName().equals(names[i]) || policy.getFrameCount() != frames[i]) {
+                throw new IllegalArgumentException("Checkpoint policy " + (i + 1) + " is " + names[i] + " with "
+                        + frames[i] + " frames, not " + policy.getName() + " with " + policy.getFrameCount() + ".");
+            }
+            SnapshotInput in = new SnapshotInput(states[i]);
+            Checkpointer.checkpointable(policy).restoreState(in);
+            if (in.remaining() != 0) {
+                throw new IllegalArgumentException("Checkpoint does not match this policy: "
+                        + in.remaining() + " bytes of " + names[i] + " state left over.");
+            }
+        }
+    }
+
+    /**
+     * Moves a freshly opened trace past the references already replayed, after
+     * checking that it is the trace the checkpoint was taken on: same identity, and
+     * the references skipped hash to the saved value.
+     *
+     * @param trace identity of {@code source}, built the same way as for the {@link Checkpointer}
+     */
+    public void skip(TraceSource source, String trace) {
+        if (!this.trace.equals(trace)) {
+            throw new IllegalArgumentException("Checkpoint was taken on " + this.trace + ", not " + trace + ".");
+        }
+        long hash = Checkpointer.EMPTY_TRACE_HASH;
+        for (long i = source.position(); i < requests; i++) {
+            if (!source.hasNext()) throw shorterTrace();
+            hash = Checkpointer.extendHash(hash, source.nextPage());
+        }
+        if (hash != traceHash) {
+            throw new IllegalArgumentException("Trace differs from the one checkpointed: its first "
+                    + requests + " references do not match.");
+        }
+    }
+
+    private IllegalArgumentException shorterTrace() {
+        return new IllegalArgumentException("Trace is shorter than the checkpoint (" + requests + " references).");
+    }
+}
@@ -0,0 +1,31 @@
+package checkpoint;
+
+import java.nio.ByteOrder;
+
+/**
+ * Layout of a checkpoint file.
+ * <pre>
+ *   int32   magic    "PGCK"
+ *   int32   version  2
+ *   UTF-8   trace identity (int32 length + bytes), see {@link Checkpointer}
+ *   int64   references consumed from the trace
+ *   int64   hash of those references ({@link Checkpointer#extendHash})
+ *   int64   nanoseconds spent replaying them, over all sessions
+ *   int32   number of policies, then for each:
+ *             UTF-8 name (int32 length + bytes), int32 frames, int64 faults,
+ *             int32 state length, state bytes ({@link Checkpointable#saveState})
+ *   int32   CRC-32 of everything before it
+ * </pre>
+ * All values are little-endian, like the binary trace format. Arrays inside a
+ * state are an int32 length followed by the elements.
+ */
+final class CheckpointFormat {
+
+    static final int MAGIC = 0x4B434750; // "PGCK" read as little-endian
+    static final int VERSION = 3;
+    static final int CRC_BYTES = 4;
+    static final ByteOrder ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    private CheckpointFormat() {
+    }
+}
@@ -0,0 +1,25 @@
+package checkpoint;
+
+/**
+ * A policy whose complete state can be saved and restored, so that a long replay
+ * can resume where it stopped.
+ * <p>
+ * Only what cannot be derived is saved (frames, links, bits, counters); lookup
+ * indexes are rebuilt on restore.
+ */
+public interface Checkpointable {
+
+    /**
+     * Appends the current state. Called on the simulation thread between two
+     * references, so it should only copy, never do I/O.
+     */
+    void saveState(SnapshotOutput out);
+
+    /**
+     * Replaces the state with one written by {@link #saveState} on a policy built
+     * with the same parameters.
+     *
+     * @throws IllegalArgumentException if the snapshot does not fit this policy
+     */
+    void restoreState(SnapshotInput in);
+}
@@ -0,0 +1,191 @@
+package checkpoint;
+
+import engine.ReplacementPolicy;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
+
+/**
+ * Takes checkpoints of a running replay every {@code interval} references.
+ * <p>
+ * The simulation thread only copies the policies' state into a buffer in memory
+ * (bulk array copies). A background thread then writes it to {@code <file>.tmp},
+ * appends the checksum, forces it to disk and renames it over {@code <file>}, so
+ * the file on disk is always a complete checkpoint, however the run ends. If the
+ * previous write has not finished when the next checkpoint is due, the
+ * simulation does not wait: it tries again a sixteenth of an interval later.
+ * <p>
+ * Each checkpoint names the trace it was taken on and carries a hash of every
+ * reference replayed so far, so {@link Checkpoint#skip} can refuse to resume on
+ * another trace.
+ */
+public final class Checkpointer implements AutoCloseable {
+
+    public static final long DEFAULT_INTERVAL = 10_000_000;
+
+    /** Hash of an empty trace prefix (the FNV-1a offset basis). */
+    public static final long EMPTY_TRACE_HASH = 0xcbf29ce484222325L;
+
+    private final Path file;
+    private final Path temp;
+    private final long interval;
+    private final String trace;
+    private final ExecutorService writer;
+    private final SnapshotOutput buffer = new SnapshotOutput(); // owned by the writer while a write is pending
+
+    private Future<?> pending;
+    private long written = 0;
+    private long postponed = 0;
+
+    /**
+     * @param trace identifies the trace being replayed, e.g. its absolute path and size;
+     *              a resume must present the same string
+     */
+    public Checkpointer(Path file, long interval, String trace) {
+        if (interval <= 0) throw new IllegalArgumentException("Checkpoint interval must be greater than 0.");
+        this.file = file;
+        this.trace = trace;
+        this.temp = file.resolveSibling(file.getFileName() + ".tmp");
+        this.interval = interval;
+        this.writer = Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "checkpoint-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /** @throws IllegalArgumentException unless every policy can be checkpointed */
+    public static void requireCheckpointable(ReplacementPolicy[] policies) {
+        for (ReplacementPolicy policy : policies) {
+            checkpointable(policy);
+        }
+    }
+
+    static Checkpointable checkpointable(ReplacementPolicy policy) {
+        if (!(policy instanceof Checkpointable)) {
+            throw new IllegalArgumentException("Policy " + policy.getName() + " does not support checkpoints.");
+        }
+        return (Checkpointable) policy;
+    }
+
+    /** Adds one reference to a trace prefix hash (FNV-1a over page IDs). */
+    public static long extendHash(long hash, int page) {
+        return (hash ^ page) * 0x100000001B3L;
+    }
+
+    /** @return the reference count at which the first checkpoint after {@code requests} is due */
+    public long firstDue(long requests) {
+        return (requests / interval + 1) * interval;
+    }
+
+    /**
+     * Takes a checkpoint unless the previous one is still being written. Called by
+     * the driver between references.
+     *
+     * @param traceHash hash of the {@code requests} references replayed
+     * @param elapsed   nanoseconds spent replaying them, including earlier sessions
+     * @return the reference count at which to call again
+     */
+    public long checkpoint(ReplacementPolicy[] policies, long requests, long[] faults, long traceHash, long elapsed) {
+        if (pending != null) {
+            if (!pending.isDone()) {
+                postponed++;
+                return requests + Math.max(1, interval / 16);
+            }
+            await();
+        }
+        snapshot(policies, requests, faults, traceHash, elapsed);
+        pending = writer.submit(this::write);
+        return firstDue(requests);
+    }
+
+    /** Takes a final checkpoint and waits for it to reach the disk. */
+    public void finish(ReplacementPolicy[] policies, long requests, long[] faults, long traceHash, long elapsed) {
+        if (pending != null) await();
+        snapshot(policies, requests, faults, traceHash, elapsed);
+        pending = writer.submit(this::write);
+        await();
+    }
+
+    public long getWritten() {
+        return written;
+    }
+
+    /** @return checkpoints delayed because the disk had not caught up */
+    public long getPostponed() {
+        return postponed;
+    }
+
+    @Override
+    public void close() {
+        writer.shutdown();
+    }
+
+    private void snapshot(ReplacementPolicy[] policies, long requests, long[] faults, long traceHash, long elapsed) {
+        SnapshotOutput out = buffer;
+        out.reset();
+        out.writeInt(CheckpointFormat.MAGIC);
+        out.writeInt(CheckpointFormat.VERSION);
+        out.writeBytes(trace.getBytes(StandardCharsets.UTF_8));
+        out.writeLong(requests);
+        out.writeLong(traceHash);
+        out.writeLong(elapsed);
+        out.writeInt(policies.length);
+        for (int i = 0; i < policies.length; i++) {
+            byte[] name = policies[i].getName().getBytes(StandardCharsets.UTF_8);
+            out.writeBytes(name);
+            out.writeInt(policies[i].getFrameCount());
+            out.writeLong(faults[i]);
+            int lengthAt = out.size();
+            out.writeInt(0);
+            checkpointable(policies[i]).saveState(out);
+            out.patchInt(lengthAt, out.size() - lengthAt - Integer.BYTES);
+        }
+    }
+
+    private Void write() throws IOException {
+        ByteBuffer data = buffer.contents();
+        CRC32 crc = new CRC32();
+        crc.update(data.duplicate());
+        ByteBuffer trailer = ByteBuffer.allocate(CheckpointFormat.CRC_BYTES).order(CheckpointFormat.ORDER);
+        trailer.putInt((int) crc.getValue()).flip();
+
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (data.hasRemaining()) channel.write(data);
+            while (trailer.hasRemaining()) channel.write(trailer);
+            channel.force(true);
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return null;
+    }
+
+    private void await() {
+        try {
+            pending.get();
+            written++;
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) throw new UncheckedIOException((IOException) cause);
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            throw new IllegalStateException(cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while writing a checkpoint.", e);
+        } finally {
+            pending = null;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package checkpoint;
+
+import utils.IntArray;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * Reads a state written through {@link SnapshotOutput}. Array reads fill the
+ * policy's own arrays and fail if the saved length differs, which is how a
+ * checkpoint taken with other parameters is caught.
+ */
+public final class SnapshotInput {
+
+    private final ByteBuffer buffer;
+
+    SnapshotInput(ByteBuffer buffer) {
+        this.buffer = buffer.slice().order(CheckpointFormat.ORDER);
+    }
+
+    public int readInt() {
+        try {
+            return buffer.getInt();
+        } catch (BufferUnderflowException e) {
+            throw truncated();
+        }
+    }
+
+    public long readLong() {
+        try {
+            return buffer.getLong();
+        } catch (BufferUnderflowException e) {
+            throw truncated();
+        }
+    }
+
+    public double readDouble() {
+        try {
+            return buffer.getDouble();
+        } catch (BufferUnderflowException e) {
+            throw truncated();
+        }
+    }
+
+    public boolean readBoolean() {
+        try {
+            return buffer.get() != 0;
+        } catch (BufferUnderflowException e) {
+            throw truncated();
+        }
+    }
+
+    public void readInts(int[] dest) {
+        expectLength(dest.length, Integer.BYTES);
+        buffer.asIntBuffer().get(dest);
+        buffer.position(buffer.position() + dest.length * Integer.BYTES);
+    }
+
+    public void readInts(IntArray dest) {
+        if (dest.length() > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Checkpoint does not match this policy: an array of "
+                    + dest.length() + " ints is larger than any saved one.");
+        }
+        int length = (int) dest.length();
+        expectLength(length, Integer.BYTES);
+        dest.readFrom(buffer.asIntBuffer());
+        buffer.position(buffer.position() + length * Integer.BYTES);
+    }
+
+    public void readLongs(long[] dest) {
+        expectLength(dest.length, Long.BYTES);
+        buffer.asLongBuffer().get(dest);
+        buffer.position(buffer.position() + dest.length * Long.BYTES);
+    }
+
+    public void readBytes(byte[] dest) {
+        expectLength(dest.length, 1);
+        buffer.get(dest);
+    }
+
+    public void readBooleans(boolean[] dest) {
+        expectLength(dest.length, 1);
+        for (int i = 0; i < dest.length; i++) {
+            dest[i] = buffer.get() != 0;
+        }
+    }
+
+    /** @return bytes not read yet */
+    int remaining() {
+        return buffer.remaining();
+    }
+
+    private void expectLength(int length, int elementBytes) {
+        int saved = readInt();
+        if (saved != length) {
+            throw new IllegalArgumentException("Checkpoint does not match this policy: saved array of "
+                    + saved + " where " + length + " was expected.");
+        }
+        if (buffer.remaining() < (long) length * elementBytes) throw truncated();
+    }
+
+    private static IllegalArgumentException truncated() {
+        return new IllegalArgumentException("Checkpoint state is truncated.");
+    }
+}
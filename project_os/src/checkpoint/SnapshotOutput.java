@@ -0,0 +1,106 @@
+package checkpoint;
+
+import utils.IntArray;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Growable in-memory buffer that policies write their state into. Arrays are
+ * copied in bulk, so saving millions of frames costs about as much as copying
+ * them. The buffer is kept between checkpoints and only grows.
+ */
+public final class SnapshotOutput {
+
+    private ByteBuffer buffer = ByteBuffer.allocate(1 << 16).order(CheckpointFormat.ORDER);
+
+    public void writeInt(int value) {
+        ensure(Integer.BYTES).putInt(value);
+    }
+
+    public void writeLong(long value) {
+        ensure(Long.BYTES).putLong(value);
+    }
+
+    public void writeDouble(double value) {
+        ensure(Double.BYTES).putDouble(value);
+    }
+
+    public void writeBoolean(boolean value) {
+        ensure(1).put(value ? (byte) 1 : (byte) 0);
+    }
+
+    public void writeInts(int[] values) {
+        writeInt(values.length);
+        ByteBuffer b = ensure((long) values.length * Integer.BYTES);
+        b.asIntBuffer().put(values);
+        b.position(b.position() + values.length * Integer.BYTES);
+    }
+
+    /** Same layout as {@link #writeInts(int[])}, so heap and off-heap policies save alike. */
+    public void writeInts(IntArray values) {
+        if (values.length() > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Checkpoint state exceeds 2 GB.");
+        }
+        int length = (int) values.length();
+        writeInt(length);
+        ByteBuffer b = ensure((long) length * Integer.BYTES);
+        values.writeTo(b.asIntBuffer());
+        b.position(b.position() + length * Integer.BYTES);
+    }
+
+    public void writeLongs(long[] values) {
+        writeInt(values.length);
+        ByteBuffer b = ensure((long) values.length * Long.BYTES);
+        b.asLongBuffer().put(values);
+        b.position(b.position() + values.length * Long.BYTES);
+    }
+
+    public void writeBytes(byte[] values) {
+        writeInt(values.length);
+        ensure(values.length).put(values);
+    }
+
+    public void writeBooleans(boolean[] values) {
+        writeInt(values.length);
+        ByteBuffer b = ensure(values.length);
+        for (boolean value : values) {
+            b.put(value ? (byte) 1 : (byte) 0);
+        }
+    }
+
+    /** @return the number of bytes written so far */
+    public int size() {
+        return buffer.position();
+    }
+
+    /** Overwrites an int written earlier at byte {@code offset}, e.g. a length placeholder. */
+    void patchInt(int offset, int value) {
+        buffer.putInt(offset, value);
+    }
+
+    void reset() {
+        buffer.clear();
+    }
+
+    /** @return a read-only view of the bytes written, for the writer thread */
+    ByteBuffer contents() {
+        ByteBuffer view = buffer.asReadOnlyBuffer().order(CheckpointFormat.ORDER);
+        view.flip();
+        return view;
+    }
+
+    private ByteBuffer ensure(long bytes) {
+        long needed = buffer.position() + bytes;
+        if (needed > buffer.capacity()) {
+            if (needed > Integer.MAX_VALUE - 8) {
+                throw new IllegalStateException("Checkpoint state exceeds 2 GB.");
+            }
+            long capacity = Math.max(needed, Math.min(Integer.MAX_VALUE - 8, 2L * buffer.capacity()));
+            ByteBuffer grown = ByteBuffer.allocate((int) capacity).order(CheckpointFormat.ORDER);
+            buffer.flip();
+            grown.put(buffer);
+            buffer = grown;
+        }
+        return buffer;
+    }
+}
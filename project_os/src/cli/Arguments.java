@@ -0,0 +1,59 @@
+package cli;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Command-line arguments split into positional values and {@code --name=value} options.
+ */
+final class Arguments {
+    private final List<String> positional = new ArrayList<>();
+    private final Map<String, String> options = new HashMap<>();
+
+    Arguments(String[] args) {
+        for (String arg : args) {
+            if (arg.startsWith("--")) {
+                int eq = arg.indexOf('=');
+                if (eq < 0) {
+                    options.put(arg.substring(2), "");
+                } else {
+                    options.put(arg.substring(2, eq), arg.substring(eq + 1));
+                }
+            } else {
+                positional.add(arg);
+            }
+        }
+    }
+
+    int size() {
+        return positional.size();
+    }
+
+    String get(int index) {
+        return positional.get(index);
+    }
+
+    List<String> from(int index) {
+        return index < positional.size() ? positional.subList(index, positional.size()) : List.of();
+    }
+
+    boolean has(String option) {
+        return options.containsKey(option);
+    }
+
+    String option(String option, String fallback) {
+        return options.getOrDefault(option, fallback);
+    }
+
+    long longOption(String option, long fallback) {
+        String text = options.get(option);
+        if (text == null) return fallback;
+        try {
+            return Long.parseLong(text);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Option --" + option + " must be an integer: '" + text + "'.");
+        }
+    }
+}
@@ -0,0 +1,689 @@
+package cli;
+
+import Clock.ClockPolicy;
+import Clock.FaultFrequencyController;
+import Clock.WSClockPolicy;
+import LRU.LRUPolicy;
+import LRU.StackDistanceAnalyzer;
+import analysis.TraceAnalyzer;
+import checkpoint.Checkpoint;
+import checkpoint.Checkpointer;
+import engine.MissRatioCurve;
+import engine.PageStream;
+import engine.PolicyType;
+import engine.ReplacementPolicy;
+import engine.SimulationDriver;
+import engine.SimulationResult;
+import engine.StepSink;
+import engine.SweepExecutor;
+import engine.SweepTable;
+import Sampled.SampledLFUPolicy;
+import Sampled.SampledLRUPolicy;
+import Sampled.SampledPolicy;
+import process.MultiProcessSimulator;
+import process.ProcessResult;
+import shards.EstimatedCurve;
+import shards.ShardsAnalyzer;
+import shards.ShardsPolicyEstimator;
+import trace.BinaryTraceReader;
+import trace.BinaryTraceWriter;
+import trace.TraceFiles;
+import trace.TraceSource;
+import workload.WorkloadSpec;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Non-interactive entry point used when {@code Main} is started with arguments.
+ * <p>
+ * Every command streams its trace through the headless engine, so nothing is
+ * printed per reference unless asked for, and the trace is only loaded into the
+ * heap when a command needs random access to it (OPT, or a text trace shared by
+ * sweep workers).
+ */
+public final class CommandLine {
+
+    private CommandLine() {
+    }
+
+    /** @return process exit code */
+    public static int run(String[] argv) {
+        Arguments args = new Arguments(argv);
+        if (args.size() == 0) {
+            printUsage();
+            return 1;
+        }
+        try {
+            switch (args.get(0)) {
+                case "replay":
+                    return replay(args);
+                case "convert":
+                    return convert(args);
+                case "mrc":
+                    return missRatioCurve(args);
+                case "sweep":
+                    return sweep(args);
+                case "generate":
+                    return generate(args);
+                case "workingset":
+                    return workingSet(args);
+                case "processes":
+                    return processes(args);
+                case "sampled":
+                    return sampled(args);
+                case "shards":
+                    return shards(args);
+                case "analyze":
+                    return analyze(args);
+                default:
+                    System.out.println("Error: Unknown command '" + args.get(0) + "'.");
+                    printUsage();
+                    return 1;
+            }
+        } catch (IllegalArgumentException e) {
+            System.out.println("Error: " + e.getMessage());
+            return 1;
+        } catch (IOException e) {
+            System.out.println("Error: " + e.getClass().getSimpleName() + ": " + e.getMessage());
+            return 2;
+        } catch (UncheckedIOException e) {
+            IOException cause = e.getCause();
+            System.out.println("Error: " + cause.getClass().getSimpleName() + ": " + cause.getMessage());
+            return 2;
+        } catch (OutOfMemoryError e) {
+            // Typically the frame tables of a very large memory: off-heap ones name the flag to raise
+            System.out.println("Error: " + e.getClass().getSimpleName() + ": " + e.getMessage());
+            return 2;
+        }
+    }
+
+    private static void printUsage() {
+        System.out.println("Usage:");
+        System.out.println("  java Main                                         (interactive menu)");
+        System.out.println("  java Main replay <trace> <frames> [policy...] [--steps=full|every:N]");
+        System.out.println("                   [--checkpoint=FILE [--every=N] [--resume]]   (save state, resume after a stop)");
+        System.out.println("                                                    (policies: clock lfu lru mfu fifo arc 2q lirs wsclock opt)");
+        System.out.println("  java Main convert <text-trace> <out.bin>          (text to binary trace)");
+        System.out.println("  java Main mrc <trace> [maxFrames] [step]          (LRU faults for every frame count, one pass)");
+        System.out.println("  java Main sweep <trace> <frames> [policy...]      (all combinations, in parallel)");
+        System.out.println("  java Main generate <workload> <out.bin> --length=N [--seed=S]");
+        System.out.println("  java Main workingset <trace> <frames> [--tau=N] [--pff=LOW:HIGH] [--window=N]");
+        System.out.println("                                                    (fixed vs PFF-adaptive WSClock; band in %)");
+        System.out.println("  java Main processes <frames> <trace> <trace>... [--policy=P] [--mode=local|global|both]");
+        System.out.println("                      [--slice=N] [--quotas=a,b,...]   (processes sharing the frames)");
+        System.out.println("  java Main sampled <trace> <frames> [--samples=K] [--pool=N]");
+        System.out.println("                                                    (sampled LRU/LFU and their drift from exact)");
+        System.out.println("  java Main shards <trace> [policy...] [--rate=R] [--frames=F] [--max-pages=N]");
+        System.out.println("                                                    (estimated curves from a hashed sample)");
+        System.out.println("  java Main analyze <trace> [--top=K] [--max-pages=N]");
+        System.out.println("                                                    (reuse/gap histograms, distinct and top pages)");
+        System.out.println();
+        System.out.println("<frames> for sweep: a list (4,8,16), a range (1-64), or a stepped range (16-1024:16).");
+        System.out.println("Without a policy list, all online policies run; 'opt' loads the trace into memory.");
+        System.out.println("<trace> is a binary trace, a text trace (space/comma separated), '-' for stdin,");
+        System.out.println("        or gen:<workload> with --length=N [--seed=S] for a synthetic stream.");
+        System.out.println("<workload>: uniform:N | zipf:N[:alpha] | scan[:first] | loop:N | phase:N:len[:shift]");
+        System.out.println("            | mix:W*<workload>+W*<workload>...");
+    }
+
+    private static final String GENERATED = "gen:";
+
+    /** Opens a trace file, stdin, or a synthetic "gen:" workload. */
+    private static TraceSource openTrace(Arguments args, String name) throws IOException {
+        if (name.startsWith(GENERATED)) {
+            return workloadSpec(args, name.substring(GENERATED.length())).open();
+        }
+        return TraceFiles.open(name);
+    }
+
+    /**
+     * Names the trace a checkpoint is taken on: generator spec and seed (not the
+     * length, so a run can be resumed with a longer one), or a file's absolute path
+     * and size. The skipped prefix is hashed as well, so this only has to catch
+     * the obvious mix-ups cheaply.
+     */
+    private static String traceIdentity(Arguments args, String name) throws IOException {
+        if (name.startsWith(GENERATED)) {
+            return name + " (seed=" + args.longOption("seed", 1) + ")";
+        }
+        if (name.equals(TraceFiles.STDIN)) {
+            return "standard input";
+        }
+        Path path = Paths.get(name).toAbsolutePath().normalize();
+        return path + " (" + Files.size(path) + " bytes)";
+    }
+
+    private static WorkloadSpec workloadSpec(Arguments args, String spec) {
+        return workloadSpec(args, spec, 0);
+    }
+
+    private static WorkloadSpec workloadSpec(Arguments args, String spec, long seedOffset) {
+        if (!args.has("length")) {
+            throw new IllegalArgumentException("Synthetic workloads need --length=N.");
+        }
+        long length = args.longOption("length", 0);
+        if (length <= 0) {
+            throw new IllegalArgumentException("Option --length must be greater than 0.");
+        }
+        return WorkloadSpec.parse(spec, length, args.longOption("seed", 1) + seedOffset);
+    }
+
+    // replay <trace> <frames> [policy...] [--steps=full|every:N] [--checkpoint=FILE [--every=N] [--resume]]
+    private static int replay(Arguments args) throws IOException {
+        StepSink.Level level = StepSink.Level.SUMMARY;
+        long sampleEvery = 1;
+        String mode = args.option("steps", "summary");
+        if (mode.equals("full")) {
+            level = StepSink.Level.FULL;
+        } else if (mode.startsWith("every:")) {
+            level = StepSink.Level.SAMPLED;
+            sampleEvery = parsePositiveInt(mode.substring("every:".length()), "steps between samples");
+        } else if (!mode.equals("summary")) {
+            throw new IllegalArgumentException("Unknown step mode '" + mode + "'.");
+        }
+        if (args.size() < 3) {
+            printUsage();
+            return 1;
+        }
+        int frames = parsePositiveInt(args.get(2), "frames");
+        List<PolicyType> types = parsePolicies(args.from(3));
+        if (args.has("checkpoint")) {
+            if (level != StepSink.Level.SUMMARY) {
+                throw new IllegalArgumentException("Option --checkpoint cannot be combined with --steps.");
+            }
+            if (anyOffline(types)) {
+                throw new IllegalArgumentException("OPT looks ahead in the trace and cannot be checkpointed.");
+            }
+            return replayWithCheckpoints(args, frames, types);
+        }
+        if (args.has("resume") || args.has("every")) {
+            throw new IllegalArgumentException("Options --resume and --every need --checkpoint=FILE.");
+        }
+
+        SimulationResult[] results;
+        try (TraceSource source = openTrace(args, args.get(1))) {
+            // OPT looks ahead, so only then is the trace loaded into memory
+            int[] pages = anyOffline(types) ? TraceFiles.readAll(source) : null;
+
+            ReplacementPolicy[] policies = new ReplacementPolicy[types.size()];
+            String[] names = new String[policies.length];
+            for (int i = 0; i < policies.length; i++) {
+                policies[i] = (pages != null) ? types.get(i).create(frames, pages) : types.get(i).create(frames);
+                names[i] = policies[i].getName();
+            }
+
+            // One pass feeds every policy, so the trace is parsed once (and stdin works)
+            PageStream stream = (pages != null) ? PageStream.of(pages) : source;
+            try (StepSink sink = new StepSink(level, sampleEvery, names, System.out)) {
+                results = SimulationDriver.runAll(policies, stream, sink);
+            }
+        }
+        System.out.println("\n--- Final Summary ---");
+        for (SimulationResult result : results) {
+            System.out.println(result);
+        }
+        return 0;
+    }
+
+    private static int replayWithCheckpoints(Arguments args, int frames, List<PolicyType> types) throws IOException {
+        Path file = Paths.get(args.option("checkpoint", ""));
+        long every = args.longOption("every", Checkpointer.DEFAULT_INTERVAL);
+        if (every <= 0) {
+            throw new IllegalArgumentException("Option --every must be a positive integer.");
+        }
+
+        String trace = traceIdentity(args, args.get(1));
+        SimulationResult[] results;
+        try (TraceSource source = openTrace(args, args.get(1));
+             Checkpointer checkpoints = new Checkpointer(file, every, trace)) {
+            ReplacementPolicy[] policies = new ReplacementPolicy[types.size()];
+            for (int i = 0; i < policies.length; i++) {
+                policies[i] = types.get(i).create(frames);
+            }
+            Checkpointer.requireCheckpointable(policies);
+
+            Checkpoint checkpoint = null;
+            if (args.has("resume") && Files.exists(file)) {
+                checkpoint = Checkpoint.read(file);
+                checkpoint.skip(source, trace);
+                checkpoint.restore(policies);
+                System.out.println("Resuming from reference " + checkpoint.getRequests() + " (" + file + ").");
+            } else if (args.has("resume")) {
+                System.out.println("No checkpoint at " + file + ", starting from the beginning.");
+            }
+            results = SimulationDriver.runAll(policies, source, checkpoints, checkpoint);
+            System.out.println("Checkpoints written: " + checkpoints.getWritten()
+                    + (checkpoints.getPostponed() > 0 ? " (" + checkpoints.getPostponed() + " postponed while the disk caught up)" : ""));
+        }
+        System.out.println("\n--- Final Summary ---");
+        for (SimulationResult result : results) {
+            System.out.println(result);
+        }
+        return 0;
+    }
+
+    // convert <text-trace> <out.bin>
+    private static int convert(Arguments args) throws IOException {
+        if (args.size() != 3) {
+            printUsage();
+            return 1;
+        }
+        return writeBinary(openTrace(args, args.get(1)), args.get(2));
+    }
+
+    // generate <workload> <out.bin> --length=N [--seed=S]
+    private static int generate(Arguments args) throws IOException {
+        if (args.size() != 3) {
+            printUsage();
+            return 1;
+        }
+        return writeBinary(workloadSpec(args, args.get(1)).open(), args.get(2));
+    }
+
+    private static int writeBinary(TraceSource source, String out) throws IOException {
+        try (source; BinaryTraceWriter writer = new BinaryTraceWriter(Paths.get(out))) {
+            writer.writeAll(source);
+            System.out.println("Wrote " + writer.count() + " references to " + out);
+        }
+        return 0;
+    }
+
+    // mrc <trace> [maxFrames] [step]
+    private static int missRatioCurve(Arguments args) throws IOException {
+        if (args.size() < 2 || args.size() > 4) {
+            printUsage();
+            return 1;
+        }
+        MissRatioCurve curve;
+        try (TraceSource source = openTrace(args, args.get(1))) {
+            curve = StackDistanceAnalyzer.analyze(source);
+        }
+
+        int maxFrames = args.size() > 2 ? parsePositiveInt(args.get(2), "frames")
+                : Math.max(1, curve.getMaxUsefulFrames());
+        // By default print about 100 rows, however large the curve
+        int step = args.size() > 3 ? parsePositiveInt(args.get(3), "step")
+                : Math.max(1, (maxFrames + 99) / 100);
+
+        System.out.println("\n--- LRU Miss-Ratio Curve ---");
+        curve.display(maxFrames, step);
+        return 0;
+    }
+
+    // sweep <trace> <frames> [policy...]
+    private static int sweep(Arguments args) throws IOException {
+        if (args.size() < 3) {
+            printUsage();
+            return 1;
+        }
+        String name = args.get(1);
+        int[] frameCounts = parseFrameCounts(args.get(2));
+        List<PolicyType> policies = parsePolicies(args.from(3));
+        int parallelism = Runtime.getRuntime().availableProcessors();
+
+        // Each worker gets its own cursor over the same read-only data
+        Supplier<TraceSource> shared = null;
+        if (!anyOffline(policies)) {
+            if (name.startsWith(GENERATED)) {
+                // Same spec + seed = identical stream, generated lazily in every worker
+                WorkloadSpec spec = workloadSpec(args, name.substring(GENERATED.length()));
+                shared = spec::open;
+            } else if (!TraceFiles.STDIN.equals(name) && TraceFiles.isBinary(Paths.get(name))) {
+                // Every worker maps the same file; the page cache is shared read-only
+                Path path = Paths.get(name);
+                shared = () -> {
+                    try {
+                        return new BinaryTraceReader(path);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                };
+            }
+        }
+
+        SweepTable table;
+        if (shared != null) {
+            table = SweepExecutor.run(shared, policies, frameCounts, parallelism);
+        } else {
+            // Text (or a trace for OPT) is read once and shared as an array
+            int[] pages;
+            try (TraceSource source = openTrace(args, name)) {
+                pages = TraceFiles.readAll(source);
+            }
+            table = SweepExecutor.run(pages, policies, frameCounts, parallelism);
+        }
+
+        System.out.println("\n--- Sweep: fault rate by policy and frame count (" + parallelism + " workers) ---");
+        table.display();
+        return 0;
+    }
+
+    // workingset <trace> <frames> [--tau=N] [--pff=LOW:HIGH] [--window=N]
+    private static int workingSet(Arguments args) throws IOException {
+        if (args.size() != 3) {
+            printUsage();
+            return 1;
+        }
+        int frames = parsePositiveInt(args.get(2), "frames");
+        long tau = args.longOption("tau", 2L * frames);
+        if (tau <= 0) {
+            throw new IllegalArgumentException("Option --tau must be greater than 0.");
+        }
+        long window = args.longOption("window", 1000);
+        if (window <= 0 || window > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Option --window must be a positive integer.");
+        }
+        String[] band = args.option("pff", "2:10").split(":", 2);
+        if (band.length != 2) {
+            throw new IllegalArgumentException("Option --pff must look like LOW:HIGH (fault rates in %).");
+        }
+        double lower = parsePercent(band[0]);
+        double upper = parsePercent(band[1]);
+
+        FaultFrequencyController controller =
+                new FaultFrequencyController(1, frames, (int) window, lower, upper);
+        WSClockPolicy fixed = new WSClockPolicy(frames, tau);
+        WSClockPolicy adaptive = new WSClockPolicy(frames, tau, controller);
+        ReplacementPolicy[] policies = {new LRUPolicy(frames), new ClockPolicy(frames), fixed, adaptive};
+
+        SimulationResult[] results;
+        try (TraceSource source = openTrace(args, args.get(1))) {
+            results = SimulationDriver.runAll(policies, source);
+        }
+
+        System.out.printf("%n--- Fixed vs adaptive allocation (tau=%d, PFF band %.1f%%-%.1f%% per %d refs) ---%n",
+                tau, lower * 100, upper * 100, window);
+        for (SimulationResult result : results) {
+            System.out.println(result);
+        }
+        System.out.printf("WSClock:     mean resident frames=%.1f of %d%n", fixed.getMeanResidentCount(), frames);
+        System.out.printf("WSClock+PFF: mean resident frames=%.1f of %d (final allowance=%d)%n",
+                adaptive.getMeanResidentCount(), frames, controller.getTarget());
+        return 0;
+    }
+
+    // processes <frames> <trace> <trace>... [--policy=P] [--mode=local|global|both] [--slice=N] [--quotas=a,b,...]
+    private static int processes(Arguments args) throws IOException {
+        if (args.size() < 3) {
+            printUsage();
+            return 1;
+        }
+        int frames = parsePositiveInt(args.get(1), "frames");
+        List<String> names = args.from(2);
+        if (names.contains(TraceFiles.STDIN)) {
+            throw new IllegalArgumentException("Processes read their traces more than once; stdin is not supported.");
+        }
+        PolicyType policy = parsePolicy(args.option("policy", "lru"));
+        if (policy.isOffline()) {
+            throw new IllegalArgumentException(policy.getDisplayName() + " needs the whole trace and cannot be scheduled.");
+        }
+        String mode = args.option("mode", "both");
+        if (!mode.equals("local") && !mode.equals("global") && !mode.equals("both")) {
+            throw new IllegalArgumentException("Unknown mode '" + mode + "'.");
+        }
+        long slice = args.longOption("slice", 100);
+        if (slice <= 0 || slice > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Option --slice must be a positive integer.");
+        }
+        // Quotas only exist under local replacement; global mode shares every frame
+        int[] quotas = null;
+        if (!mode.equals("global")) {
+            quotas = args.has("quotas") ? parseFrameCounts(args.option("quotas", ""))
+                    : MultiProcessSimulator.equalQuotas(frames, names.size());
+            if (quotas.length != names.size()) {
+                throw new IllegalArgumentException("Option --quotas needs one entry per process (" + names.size() + ").");
+            }
+            long quotaSum = 0;
+            for (int quota : quotas) quotaSum += quota;
+            if (quotaSum > frames) {
+                throw new IllegalArgumentException("Quotas add up to " + quotaSum + " frames; only " + frames + " exist.");
+            }
+        } else if (args.has("quotas")) {
+            throw new IllegalArgumentException("Option --quotas applies to local replacement only.");
+        }
+        int parallelism = Runtime.getRuntime().availableProcessors();
+
+        System.out.printf("%n--- %d processes, %d frames, %s ---%n", names.size(), frames, policy.getDisplayName());
+        for (int p = 0; p < names.size(); p++) {
+            System.out.println("P" + p + " = " + names.get(p));
+        }
+
+        if (!mode.equals("global")) {
+            List<Supplier<TraceSource>> traces = new ArrayList<>();
+            for (int p = 0; p < names.size(); p++) {
+                String name = names.get(p);
+                int pid = p;
+                traces.add(() -> {
+                    try {
+                        return openProcessTrace(args, name, pid);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+            ProcessResult[] local = MultiProcessSimulator.runLocal(traces, names, policy, quotas, parallelism);
+            printProcessResults("Local replacement (fixed quotas, " + parallelism + " workers)", local);
+        }
+
+        if (!mode.equals("local")) {
+            List<TraceSource> sources = new ArrayList<>();
+            try {
+                for (int p = 0; p < names.size(); p++) {
+                    sources.add(openProcessTrace(args, names.get(p), p));
+                }
+                ProcessResult[] global = MultiProcessSimulator.runGlobal(sources, names, policy, frames, (int) slice);
+                printProcessResults("Global replacement (time slice " + slice + ", frames held at end)", global);
+            } finally {
+                for (TraceSource source : sources) source.close();
+            }
+        }
+        return 0;
+    }
+
+    // sampled <trace> <frames> [--samples=K] [--pool=N]
+    private static int sampled(Arguments args) throws IOException {
+        if (args.size() != 3) {
+            printUsage();
+            return 1;
+        }
+        int frames = parsePositiveInt(args.get(2), "frames");
+        long samples = args.longOption("samples", SampledPolicy.DEFAULT_SAMPLES);
+        if (samples <= 0 || samples > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Option --samples must be a positive integer.");
+        }
+        long pool = args.longOption("pool", SampledPolicy.DEFAULT_POOL);
+        if (pool < 0 || pool > 1024) {
+            throw new IllegalArgumentException("Option --pool must be between 0 and 1024.");
+        }
+
+        // Each approximation sits right after the exact policy it is measured against
+        ReplacementPolicy[] policies = {
+                PolicyType.LRU.create(frames), new SampledLRUPolicy(frames, (int) samples, (int) pool),
+                PolicyType.LFU.create(frames), new SampledLFUPolicy(frames, (int) samples, (int) pool)
+        };
+        SimulationResult[] results;
+        try (TraceSource source = openTrace(args, args.get(1))) {
+            results = SimulationDriver.runAll(policies, source);
+        }
+
+        System.out.println("\n--- Sampled vs exact eviction (" + samples + " samples, pool of " + pool + ") ---");
+        for (SimulationResult result : results) {
+            System.out.println(result);
+        }
+        System.out.println();
+        for (int i = 0; i < results.length; i += 2) {
+            long exact = results[i].getPageFaults();
+            long drift = results[i + 1].getPageFaults() - exact;
+            System.out.printf("%-6s drift from %-4s | faults %+d (%+.2f%% of exact) | fault rate %+.2f points%n",
+                    results[i + 1].getPolicyName(), results[i].getPolicyName(), drift,
+                    exact > 0 ? (double) drift / exact * 100 : 0,
+                    results[i + 1].getFaultRate() - results[i].getFaultRate());
+        }
+        return 0;
+    }
+
+    // shards <trace> [policy...] [--rate=R] [--frames=F] [--max-pages=N]
+    private static int shards(Arguments args) throws IOException {
+        if (args.size() < 2) {
+            printUsage();
+            return 1;
+        }
+        double rate = parseRate(args.option("rate", "0.01"));
+        int[] frameCounts = args.has("frames") ? parseFrameCounts(args.option("frames", "")) : null;
+        List<String> names = args.from(2);
+
+        EstimatedCurve[] curves;
+        try (TraceSource source = openTrace(args, args.get(1))) {
+            if (names.isEmpty()) {
+                // LRU through the stack-distance analysis: constant memory, any frame count
+                long maxPages = args.longOption("max-pages", 65536);
+                if (maxPages <= 0 || maxPages > Integer.MAX_VALUE) {
+                    throw new IllegalArgumentException("Option --max-pages must be a positive integer.");
+                }
+                curves = new EstimatedCurve[] {ShardsAnalyzer.analyze(source, rate, (int) maxPages, frameCounts)};
+            } else {
+                if (frameCounts == null) {
+                    throw new IllegalArgumentException("Estimating policies needs --frames (e.g. --frames=1024-65536:1024).");
+                }
+                curves = ShardsPolicyEstimator.estimate(source, parsePolicies(names), frameCounts, rate);
+            }
+        }
+        for (EstimatedCurve curve : curves) {
+            System.out.println("\n--- " + curve.getName() + " estimated fault rates (SHARDS, rate " + rate + ") ---");
+            curve.display();
+        }
+        return 0;
+    }
+
+    // analyze <trace> [--top=K] [--max-pages=N]
+    private static int analyze(Arguments args) throws IOException {
+        if (args.size() != 2) {
+            printUsage();
+            return 1;
+        }
+        long top = args.longOption("top", TraceAnalyzer.DEFAULT_TOP);
+        if (top <= 0 || top > 1 << 20) {
+            throw new IllegalArgumentException("Option --top must be between 1 and " + (1 << 20) + ".");
+        }
+        long maxPages = args.longOption("max-pages", TraceAnalyzer.DEFAULT_MAX_PAGES);
+        if (maxPages <= 0 || maxPages > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Option --max-pages must be a positive integer.");
+        }
+
+        TraceAnalyzer analyzer;
+        try (TraceSource source = openTrace(args, args.get(1))) {
+            analyzer = TraceAnalyzer.analyze(source, (int) top, (int) maxPages);
+        }
+        System.out.println("\n--- Trace analysis ---");
+        analyzer.display();
+        return 0;
+    }
+
+    private static double parseRate(String text) {
+        try {
+            double val = Double.parseDouble(text);
+            if (val > 0 && val <= 1) return val;
+        } catch (NumberFormatException e) {
+            // fall through to the error below
+        }
+        throw new IllegalArgumentException("Sampling rate must be a number in (0, 1]: '" + text + "'.");
+    }
+
+    /** Like {@link #openTrace}, but each process gets its own seed so identical specs still differ. */
+    private static TraceSource openProcessTrace(Arguments args, String name, int pid) throws IOException {
+        if (name.startsWith(GENERATED)) {
+            return workloadSpec(args, name.substring(GENERATED.length()), pid).open();
+        }
+        return TraceFiles.open(name);
+    }
+
+    private static void printProcessResults(String title, ProcessResult[] results) {
+        System.out.println("\n" + title + ":");
+        long requests = 0;
+        long faults = 0;
+        for (ProcessResult result : results) {
+            System.out.println(result);
+            requests += result.getTotalRequests();
+            faults += result.getPageFaults();
+        }
+        System.out.printf("Total  | requests=%d | faults=%d | fault rate=%.2f%%%n",
+                requests, faults, requests > 0 ? (double) faults / requests * 100 : 0);
+    }
+
+    private static double parsePercent(String text) {
+        try {
+            double val = Double.parseDouble(text.trim());
+            if (val >= 0 && val <= 100) return val / 100;
+        } catch (NumberFormatException e) {
+            // fall through to the error below
+        }
+        throw new IllegalArgumentException("Fault rate must be a percentage between 0 and 100: '" + text + "'.");
+    }
+
+    /** Parses "4,8,16", "1-64" or "16-1024:16". */
+    static int[] parseFrameCounts(String spec) {
+        if (spec.contains("-")) {
+            String[] rangeAndStep = spec.split(":", 2);
+            String[] bounds = rangeAndStep[0].split("-", 2);
+            int from = parsePositiveInt(bounds[0], "frames");
+            int to = parsePositiveInt(bounds[1], "frames");
+            int step = rangeAndStep.length > 1 ? parsePositiveInt(rangeAndStep[1], "step") : 1;
+            if (to < from) {
+                throw new IllegalArgumentException("Frame range '" + spec + "' is empty.");
+            }
+            int[] counts = new int[(to - from) / step + 1];
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] = from + i * step;
+            }
+            return counts;
+        }
+        String[] parts = spec.split(",");
+        int[] counts = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            counts[i] = parsePositiveInt(parts[i].trim(), "frames");
+        }
+        return counts;
+    }
+
+    static int parsePositiveInt(String text, String what) {
+        try {
+            int val = Integer.parseInt(text);
+            if (val > 0) return val;
+        } catch (NumberFormatException e) {
+            // fall through to the error below
+        }
+        throw new IllegalArgumentException("Number of " + what + " must be a positive integer: '" + text + "'.");
+    }
+
+    static List<PolicyType> parsePolicies(List<String> names) {
+        List<PolicyType> policies = new ArrayList<>();
+        for (String name : names) {
+            policies.add(parsePolicy(name));
+        }
+        if (policies.isEmpty()) {
+            policies.addAll(PolicyType.online());
+        }
+        return policies;
+    }
+
+    private static boolean anyOffline(List<PolicyType> policies) {
+        for (PolicyType type : policies) {
+            if (type.isOffline()) return true;
+        }
+        return false;
+    }
+
+    static PolicyType parsePolicy(String name) {
+        for (PolicyType type : PolicyType.values()) {
+            if (type.name().equalsIgnoreCase(name) || type.getDisplayName().equalsIgnoreCase(name)) return type;
+        }
+        throw new IllegalArgumentException("Unknown policy '" + name + "'.");
+    }
+}
@@ -0,0 +1,59 @@
+package engine;
+
+/**
+ * Fault counts for every frame count at once, built from an LRU stack-distance
+ * histogram.
+ * <p>
+ * {@code histogram[d]} is the number of references whose stack distance is
+ * {@code d} (a hit for any memory of at least {@code d} frames); references to
+ * pages never seen before are cold misses and fault for every frame count.
+ */
+public class MissRatioCurve {
+    private final long totalRequests;
+    private final long coldMisses;
+    private final long[] faultsAt; // faultsAt[f] = faults with f frames, f >= 1
+
+    public MissRatioCurve(long totalRequests, long coldMisses, long[] histogram, int maxDistance) {
+        this.totalRequests = totalRequests;
+        this.coldMisses = coldMisses;
+        this.faultsAt = new long[maxDistance + 1];
+
+        // faults(f) = cold + references with distance > f
+        long beyond = 0;
+        for (int f = maxDistance; f >= 1; f--) {
+            faultsAt[f] = coldMisses + beyond;
+            beyond += histogram[f];
+        }
+        if (maxDistance >= 0) faultsAt[0] = totalRequests;
+    }
+
+    public long getTotalRequests() { return totalRequests; }
+
+    public long getColdMisses() { return coldMisses; }
+
+    /** @return largest frame count that still changes the result (beyond it, only cold misses fault) */
+    public int getMaxUsefulFrames() {
+        return faultsAt.length - 1;
+    }
+
+    public long getFaults(int frames) {
+        if (frames <= 0) return totalRequests;
+        if (frames >= faultsAt.length) return coldMisses;
+        return faultsAt[frames];
+    }
+
+    public double getFaultRate(int frames) {
+        return totalRequests > 0 ? (double) getFaults(frames) / totalRequests * 100 : 0;
+    }
+
+    public void display(int maxFrames, int step) {
+        System.out.println("Frames     | Page Faults  | Fault Rate");
+        System.out.println("------------------------------------------");
+        for (int f = 1; f <= maxFrames; f += step) {
+            System.out.printf("%-10d | %-12d | %.2f%%\n", f, getFaults(f), getFaultRate(f));
+        }
+        System.out.println("------------------------------------------");
+        System.out.println("Total Requests: " + totalRequests);
+        System.out.println("Cold Misses: " + coldMisses + " (only these fault with " + getMaxUsefulFrames() + "+ frames)");
+    }
+}
@@ -0,0 +1,33 @@
+package engine;
+
+/**
+ * A primitive, pull-based source of page references.
+ * <p>
+ * Unlike {@code Iterator<Integer>} this never boxes, so a driver can pull
+ * billions of references through it without producing garbage.
+ */
+public interface PageStream {
+
+    /** @return {@code true} while more references are available */
+    boolean hasNext();
+
+    /** @return the next non-negative page ID */
+    int nextPage();
+
+    /** Wraps an in-memory reference string. */
+    static PageStream of(int[] pages) {
+        return new PageStream() {
+            private int index = 0;
+
+            @Override
+            public boolean hasNext() {
+                return index < pages.length;
+            }
+
+            @Override
+            public int nextPage() {
+                return pages[index++];
+            }
+        };
+    }
+}
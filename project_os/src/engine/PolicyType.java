@@ -0,0 +1,155 @@
+package engine;
+
+import ARC.ARCPolicy;
+import Clock.ClockPolicy;
+import Clock.WSClockPolicy;
+import FIFO.FIFOPolicy;
+import LIRS.LIRSPolicy;
+import LFU.LFUPolicy;
+import LRU.LRUPolicy;
+import MFU.MFUPolicy;
+import OPT.OPTPolicy;
+import TwoQ.TwoQPolicy;
+import utils.Storage;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The algorithms offered by the menu in {@code Main}, in menu order,
+ * followed by the ones only reachable headless. Each constant knows how to build a fresh headless policy instance.
+ * OPT is offline: it can only be built with {@link #create(int, int[])}.
+ * Clock, LFU, LRU and FIFO keep their tables off the heap from
+ * {@link #OFF_HEAP_THRESHOLD} frames on.
+ */
+public enum PolicyType {
+    CLOCK("Clock") {
+        @Override
+        public ReplacementPolicy create(int frameCount) {
+            return new ClockPolicy(frameCount, storage(frameCount));
+        }
+    },
+    LFU("LFU") {
+        @Override
+        public ReplacementPolicy create(int frameCount) {
+            return new LFUPolicy(frameCount, storage(frameCount));
+        }
+    },
+    LRU("LRU") {
+        @Override
+        public ReplacementPolicy create(int frameCount) {
+            return new LRUPolicy(frameCount, storage(frameCount));
+        }
+    },
+    MFU("MFU") {
+        @Override
+        public ReplacementPolicy create(int frameCount) {
+            return new MFUPolicy(frameCount);
+        }
+    },
+    FIFO("FIFO") {
+        @Override
+        public ReplacementPolicy create(int frameCount) {
+            return new FIFOPolicy(frameCount, storage(frameCount));
+        }
+    },
+    ARC("ARC") {
+        @Override
+        public ReplacementPolicy create(int frameCount) {
+            return new ARCPolicy(frameCount);
+        }
+    },
+    TWOQ("2Q") {
+        @Override
+        public ReplacementPolicy create(int frameCount) {
+            return new TwoQPolicy(frameCount);
+        }
+    },
+    LIRS("LIRS") {
+        @Override
+        public ReplacementPolicy create(int frameCount) {
+            return new LIRSPolicy(frameCount);
+        }
+    },
+    WSCLOCK("WSClock") {
+        @Override
+        public ReplacementPolicy create(int frameCount) {
+            return new WSClockPolicy(frameCount);
+        }
+    },
+    OPT("OPT") {
+        @Override
+        public ReplacementPolicy create(int frameCount) {
+            throw new IllegalStateException("OPT is offline and needs the whole reference string.");
+        }
+
+        @Override
+        public ReplacementPolicy create(int frameCount, int[] trace) {
+            return new OPTPolicy(frameCount, trace);
+        }
+
+        @Override
+        public ReplacementPolicy create(int frameCount, int[] trace, int[] nextUse) {
+            return new OPTPolicy(frameCount, trace, nextUse);
+        }
+
+        @Override
+        public boolean isOffline() {
+            return true;
+        }
+    };
+
+    /**
+     * Frame count from which Clock, LFU, LRU and FIFO keep their tables off the heap; set with
+     * {@code -Doffheap.frames=N} (default 2^24 frames, i.e. 64 GB of 4 KB pages).
+     */
+    public static final int OFF_HEAP_THRESHOLD = Integer.getInteger("offheap.frames", 1 << 24);
+
+    private final String displayName;
+
+    PolicyType(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    /** Builds a new, empty policy instance with the given number of frames. */
+    public abstract ReplacementPolicy create(int frameCount);
+
+    /**
+     * Builds a policy for a known reference string. Online policies ignore the
+     * trace; offline ones (OPT) need it to look ahead.
+     */
+    public ReplacementPolicy create(int frameCount, int[] trace) {
+        return create(frameCount);
+    }
+
+    /**
+     * Like {@link #create(int, int[])}, with the trace's next-use array from
+     * {@link OPTPolicy#buildNextUse(int[])} built once and shared by every frame
+     * count of a sweep.
+     */
+    public ReplacementPolicy create(int frameCount, int[] trace, int[] nextUse) {
+        return create(frameCount, trace);
+    }
+
+    /** @return true if the policy must see the whole reference string up front */
+    public boolean isOffline() {
+        return false;
+    }
+
+    private static Storage storage(int frameCount) {
+        return frameCount >= OFF_HEAP_THRESHOLD ? Storage.OFF_HEAP : Storage.HEAP;
+    }
+
+    /** The policies that can run over a stream (everything except OPT). */
+    public static List<PolicyType> online() {
+        List<PolicyType> online = new ArrayList<>();
+        for (PolicyType type : values()) {
+            if (!type.isOffline()) online.add(type);
+        }
+        return online;
+    }
+}
@@ -0,0 +1,50 @@
+package engine;
+
+import java.util.function.IntConsumer;
+
+/**
+ * Common headless contract for every page replacement algorithm.
+ * <p>
+ * Implementations must not print anything from {@link #access(int)} and
+ * should avoid allocating there, so that the same policy can be replayed
+ * over very long reference strings by the {@link SimulationDriver}.
+ */
+public interface ReplacementPolicy {
+
+    /**
+     * References a page.
+     *
+     * @param page non-negative page ID
+     * @return {@code true} on a HIT, {@code false} on a PAGE FAULT
+     */
+    boolean access(int page);
+
+    /** Number of physical frames this policy manages. */
+    int getFrameCount();
+
+    /** Short display name used in summaries (e.g. "LRU"). */
+    String getName();
+
+    /**
+     * Copies up to {@code max} resident page IDs, in frame order, into {@code dest}
+     * starting at {@code offset}. Used only for step output, never on the hot path.
+     *
+     * @return number of page IDs copied
+     */
+    default int copyFrames(int[] dest, int offset, int max) {
+        return 0;
+    }
+
+    /**
+     * Passes every resident page ID, in frame order, to {@code action}. Policies
+     * whose memory can be very large override this to walk their frames in place;
+     * the default copies them into a temporary array.
+     */
+    default void forEachFrame(IntConsumer action) {
+        int[] frames = new int[getFrameCount()];
+        int n = copyFrames(frames, 0, frames.length);
+        for (int i = 0; i < n; i++) {
+            action.accept(frames[i]);
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package engine;
+
+import checkpoint.Checkpoint;
+import checkpoint.Checkpointer;
+import metrics.Metrics;
+
+/**
+ * Runs any {@link ReplacementPolicy} over a reference string with zero console I/O.
+ * <p>
+ * The loops below only touch the policy and two counters, so the measured
+ * time is the time spent in the policy itself. With {@code -Dmetrics=true}
+ * each policy is wrapped for the run so it can be watched over JMX and JFR
+ * (see {@link Metrics}); otherwise nothing is wrapped.
+ */
+public final class SimulationDriver {
+
+    private SimulationDriver() {
+    }
+
+    public static SimulationResult run(ReplacementPolicy policy, int[] pages) {
+        if (Metrics.ENABLED) policy = Metrics.start(policy);
+        long faults = 0;
+        long elapsed;
+        try {
+            long start = System.nanoTime();
+            for (int page : pages) {
+                if (!policy.access(page)) faults++;
+            }
+            elapsed = System.nanoTime() - start;
+        } finally {
+            if (Metrics.ENABLED) Metrics.finish(policy);
+        }
+        return new SimulationResult(policy.getName(), policy.getFrameCount(), pages.length, faults, elapsed);
+    }
+
+    public static SimulationResult run(ReplacementPolicy policy, PageStream pages) {
+        if (Metrics.ENABLED) policy = Metrics.start(policy);
+        long requests = 0;
+        long faults = 0;
+        long elapsed;
+        try {
+            long start = System.nanoTime();
+            while (pages.hasNext()) {
+                requests++;
+                if (!policy.access(pages.nextPage())) faults++;
+            }
+            elapsed = System.nanoTime() - start;
+        } finally {
+            if (Metrics.ENABLED) Metrics.finish(policy);
+        }
+        return new SimulationResult(policy.getName(), policy.getFrameCount(), requests, faults, elapsed);
+    }
+
+    /**
+     * Feeds every reference to all policies in a single pass, so a stream that can
+     * only be read once (e.g. stdin) can still be compared across policies.
+     * The elapsed time in each result is the time of the whole pass.
+     */
+    public static SimulationResult[] runAll(ReplacementPolicy[] policies, PageStream pages) {
+        if (Metrics.ENABLED) policies = Metrics.start(policies);
+        long requests = 0;
+        long[] faults = new long[policies.length];
+        long elapsed;
+        try {
+            long start = System.nanoTime();
+            while (pages.hasNext()) {
+                int page = pages.nextPage();
+                requests++;
+                for (int i = 0; i < policies.length; i++) {
+                    if (!policies[i].access(page)) faults[i]++;
+                }
+            }
+            elapsed = System.nanoTime() - start;
+        } finally {
+            if (Metrics.ENABLED) Metrics.finish(policies);
+        }
+
+        SimulationResult[] results = new SimulationResult[policies.length];
+        for (int i = 0; i < policies.length; i++) {
+            results[i] = new SimulationResult(policies[i].getName(), policies[i].getFrameCount(),
+                    requests, faults[i], elapsed);
+        }
+        return results;
+    }
+
+    /**
+     * Like {@link #runAll(ReplacementPolicy[], PageStream)} but also reports steps to
+     * a {@link StepSink}. At {@link StepSink.Level#SUMMARY} this is the plain loop.
+     */
+    public static SimulationResult[] runAll(ReplacementPolicy[] policies, PageStream pages, StepSink sink) {
+        if (sink == null || sink.getLevel() == StepSink.Level.SUMMARY) {
+            return runAll(policies, pages);
+        }
+        if (Metrics.ENABLED) policies = Metrics.start(policies);
+
+        long requests = 0;
+        long[] faults = new long[policies.length];
+        long elapsed;
+        try {
+            long start = System.nanoTime();
+            while (pages.hasNext()) {
+                int page = pages.nextPage();
+                boolean wanted = sink.wants(requests);
+                for (int i = 0; i < policies.length; i++) {
+                    boolean hit = policies[i].access(page);
+                    if (!hit) faults[i]++;
+                    if (wanted) sink.record(requests, i, page, hit, policies[i]);
+                }
+                requests++;
+            }
+            elapsed = System.nanoTime() - start;
+        } finally {
+            if (Metrics.ENABLED) Metrics.finish(policies);
+        }
+
+        SimulationResult[] results = new SimulationResult[policies.length];
+        for (int i = 0; i < policies.length; i++) {
+            results[i] = new SimulationResult(policies[i].getName(), policies[i].getFrameCount(),
+                    requests, faults[i], elapsed);
+        }
+        return results;
+    }
+
+    /**
+     * Like {@link #runAll(ReplacementPolicy[], PageStream)}, but taking checkpoints
+     * as it goes. To resume, pass the {@link Checkpoint} the policies were restored
+     * from and a stream already moved past its references; otherwise {@code null}.
+     * A last checkpoint is written at the end. Counts and elapsed time in the
+     * results include the sessions before the checkpoint.
+     */
+    public static SimulationResult[] runAll(ReplacementPolicy[] policies, PageStream pages,
+                                            Checkpointer checkpoints, Checkpoint resumed) {
+        Checkpointer.requireCheckpointable(policies);
+        ReplacementPolicy[] states = policies;
+        if (Metrics.ENABLED) policies = Metrics.start(policies);
+        long requests = (resumed != null) ? resumed.getRequests() : 0;
+        long[] faults = (resumed != null) ? resumed.getFaults() : new long[policies.length];
+        long traceHash = (resumed != null) ? resumed.getTraceHash() : Checkpointer.EMPTY_TRACE_HASH;
+        long earlier = (resumed != null) ? resumed.getElapsedNanos() : 0;
+
+        long elapsed;
+        try {
+            long due = checkpoints.firstDue(requests);
+            long start = System.nanoTime();
+            while (pages.hasNext()) {
+                int page = pages.nextPage();
+                requests++;
+                traceHash = Checkpointer.extendHash(traceHash, page);
+                for (int i = 0; i < policies.length; i++) {
+                    if (!policies[i].access(page)) faults[i]++;
+                }
+                if (requests == due) {
+                    due = checkpoints.checkpoint(states, requests, faults, traceHash, earlier + System.nanoTime() - start);
+                }
+            }
+            elapsed = earlier + System.nanoTime() - start;
+            checkpoints.finish(states, requests, faults, traceHash, elapsed);
+        } finally {
+            if (Metrics.ENABLED) Metrics.finish(policies);
+        }
+
+        SimulationResult[] results = new SimulationResult[policies.length];
+        for (int i = 0; i < policies.length; i++) {
+            results[i] = new SimulationResult(policies[i].getName(), policies[i].getFrameCount(),
+                    requests, faults[i], elapsed);
+        }
+        return results;
+    }
+}
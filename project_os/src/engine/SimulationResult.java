@@ -0,0 +1,47 @@
+package engine;
+
+/**
+ * Immutable outcome of one headless simulation run.
+ */
+public class SimulationResult {
+    private final String policyName;
+    private final int frameCount;
+    private final long totalRequests;
+    private final long pageFaults;
+    private final long elapsedNanos;
+
+    public SimulationResult(String policyName, int frameCount, long totalRequests,
+                            long pageFaults, long elapsedNanos) {
+        this.policyName = policyName;
+        this.frameCount = frameCount;
+        this.totalRequests = totalRequests;
+        this.pageFaults = pageFaults;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public String getPolicyName() { return policyName; }
+
+    public int getFrameCount() { return frameCount; }
+
+    public long getTotalRequests() { return totalRequests; }
+
+    public long getPageFaults() { return pageFaults; }
+
+    public long getPageHits() { return totalRequests - pageFaults; }
+
+    public long getElapsedNanos() { return elapsedNanos; }
+
+    public double getFaultRate() {
+        return totalRequests > 0 ? (double) pageFaults / totalRequests * 100 : 0;
+    }
+
+    public double getReferencesPerSecond() {
+        return elapsedNanos > 0 ? totalRequests * 1_000_000_000.0 / elapsedNanos : 0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%-6s | frames=%-8d | requests=%-10d | faults=%-10d | fault rate=%.2f%%",
+                policyName, frameCount, totalRequests, pageFaults, getFaultRate());
+    }
+}
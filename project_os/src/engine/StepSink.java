@@ -0,0 +1,172 @@
+package engine;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Buffered, levelled step output for headless runs.
+ * <p>
+ * The simulation thread only copies raw numbers (step, page, hit, frame contents)
+ * into a pooled {@code int[]} batch. Full batches are handed to a background
+ * writer thread that does all the formatting and writes in large chunks, so the
+ * console never sits on the hot path. The pool is bounded: if the writer falls
+ * behind, the simulation waits instead of buffering without limit.
+ */
+public class StepSink implements AutoCloseable {
+
+    public enum Level {
+        /** No step output; only the final summary. */
+        SUMMARY,
+        /** Every N-th reference. */
+        SAMPLED,
+        /** Every reference. */
+        FULL
+    }
+
+    /** Frames shown per step; larger memories are truncated with "...". */
+    public static final int MAX_FRAMES_SHOWN = 32;
+
+    private static final int BATCH_INTS = 1 << 16;
+    private static final int POOL_SIZE = 4;
+    private static final int RECORD_HEADER = 6; // step hi, step lo, policy, page, hit, shown
+    private static final int[] END = new int[0];
+
+    private final Level level;
+    private final long sampleEvery;
+    private final String[] policyNames;
+    private final BlockingQueue<int[]> filled = new ArrayBlockingQueue<>(POOL_SIZE + 1);
+    private final BlockingQueue<int[]> free = new ArrayBlockingQueue<>(POOL_SIZE);
+    private final Thread writerThread;
+    private volatile IOException writeFailure;
+
+    private int[] batch;
+    private int fill = 0;
+
+    /**
+     * @param sampleEvery used by {@link Level#SAMPLED}: record every N-th reference
+     * @param policyNames display names, indexed by the policy index passed to {@link #record}
+     */
+    public StepSink(Level level, long sampleEvery, String[] policyNames, OutputStream out) {
+        if (sampleEvery <= 0) throw new IllegalArgumentException("Sample interval must be greater than 0.");
+        this.level = level;
+        this.sampleEvery = sampleEvery;
+        this.policyNames = policyNames.clone();
+        for (int i = 1; i < POOL_SIZE; i++) free.add(new int[BATCH_INTS]);
+        this.batch = new int[BATCH_INTS];
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 1 << 16);
+        this.writerThread = new Thread(() -> drain(writer), "step-sink-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    public Level getLevel() {
+        return level;
+    }
+
+    /** @param step 0-based reference index */
+    public boolean wants(long step) {
+        return level == Level.FULL || (level == Level.SAMPLED && step % sampleEvery == 0);
+    }
+
+    /** Copies one step into the current batch. Call only when {@link #wants(long)} is true. */
+    public void record(long step, int policyIndex, int page, boolean hit, ReplacementPolicy policy) {
+        if (fill + RECORD_HEADER + MAX_FRAMES_SHOWN + 1 > BATCH_INTS) handOff();
+        int[] b = batch;
+        int at = fill;
+        b[at] = (int) (step >>> 32);
+        b[at + 1] = (int) step;
+        b[at + 2] = policyIndex;
+        b[at + 3] = page;
+        b[at + 4] = hit ? 1 : 0;
+        // One extra frame tells the writer whether the list was truncated
+        int shown = policy.copyFrames(b, at + RECORD_HEADER, MAX_FRAMES_SHOWN + 1);
+        b[at + 5] = shown;
+        fill = at + RECORD_HEADER + shown;
+    }
+
+    private void handOff() {
+        if (writeFailure != null) throw new UncheckedIOException(writeFailure);
+        int[] full = batch;
+        if (fill < full.length) full[fill] = -1; // end-of-batch marker
+        try {
+            filled.put(full);
+            batch = free.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while writing steps", e);
+        }
+        fill = 0;
+    }
+
+    // ---- background writer ----
+
+    private void drain(Writer out) {
+        StringBuilder line = new StringBuilder(256);
+        try {
+            while (true) {
+                int[] b = filled.take();
+                if (b == END) break;
+                if (writeFailure == null) {
+                    try {
+                        int at = 0;
+                        while (at < b.length && b[at] != -1) {
+                            at = format(b, at, line);
+                            out.append(line);
+                            line.setLength(0);
+                        }
+                    } catch (IOException e) {
+                        writeFailure = e;
+                    }
+                }
+                // Even after a failure every batch goes back to the pool, so a simulation
+                // thread waiting for one wakes up and sees the failure
+                free.put(b);
+            }
+            if (writeFailure == null) out.flush();
+        } catch (IOException e) {
+            writeFailure = e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private int format(int[] b, int at, StringBuilder line) {
+        long step = ((long) b[at] << 32) | (b[at + 1] & 0xffffffffL);
+        String name = policyNames[b[at + 2]];
+        int shown = b[at + 5];
+        line.append("Step ").append(step + 1).append(" [").append(name).append("]: Page ")
+                .append(b[at + 3]).append(b[at + 4] == 1 ? " -> HIT" : " -> FAULT").append(" | Frames: [");
+        int printable = Math.min(shown, MAX_FRAMES_SHOWN);
+        for (int i = 0; i < printable; i++) {
+            if (i > 0) line.append(", ");
+            line.append(b[at + RECORD_HEADER + i]);
+        }
+        if (shown > MAX_FRAMES_SHOWN) line.append(", ...");
+        line.append("]\n");
+        return at + RECORD_HEADER + shown;
+    }
+
+    /** Flushes pending steps and waits for the writer thread to finish. */
+    @Override
+    public void close() {
+        try {
+            if (fill > 0) {
+                batch[fill] = -1;
+                filled.put(batch);
+            }
+            filled.put(END);
+            writerThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writeFailure != null) throw new UncheckedIOException(writeFailure);
+    }
+}
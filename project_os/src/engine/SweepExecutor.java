@@ -0,0 +1,88 @@
+package engine;
+
+import OPT.OPTPolicy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * Runs every (policy, frame count) combination in parallel on a fork-join pool.
+ * <p>
+ * Each task builds its own policy instance and pulls its own {@link PageStream}
+ * from the supplier, so workers share nothing mutable. The supplier should hand
+ * out independent cursors over the same read-only data: {@link PageStream#of(int[])}
+ * over one shared array, or a fresh reader over the same mapped file.
+ */
+public final class SweepExecutor {
+
+    private SweepExecutor() {
+    }
+
+    public static SweepTable run(Supplier<? extends PageStream> trace, List<PolicyType> policies,
+                                 int[] frameCounts, int parallelism) {
+        List<Callable<SimulationResult>> tasks = new ArrayList<>();
+        for (int frames : frameCounts) {
+            for (PolicyType type : policies) {
+                if (type.isOffline()) {
+                    throw new IllegalArgumentException(type.getDisplayName() + " needs the whole trace; load it into an array first.");
+                }
+                tasks.add(() -> {
+                    PageStream pages = trace.get();
+                    try {
+                        return SimulationDriver.run(type.create(frames), pages);
+                    } finally {
+                        if (pages instanceof AutoCloseable) ((AutoCloseable) pages).close();
+                    }
+                });
+            }
+        }
+        return invoke(tasks, policies, frameCounts, parallelism);
+    }
+
+    /** Sweep over an in-memory trace; offline policies such as OPT are allowed here. */
+    public static SweepTable run(int[] pages, List<PolicyType> policies, int[] frameCounts, int parallelism) {
+        // OPT's next-use array depends only on the trace: one backward pass for the whole sweep
+        int[] nextUse = null;
+        for (PolicyType type : policies) {
+            if (type.isOffline() && nextUse == null) nextUse = OPTPolicy.buildNextUse(pages);
+        }
+        int[] sharedNextUse = nextUse;
+        List<Callable<SimulationResult>> tasks = new ArrayList<>();
+        for (int frames : frameCounts) {
+            for (PolicyType type : policies) {
+                tasks.add(() -> SimulationDriver.run(type.create(frames, pages, sharedNextUse), pages));
+            }
+        }
+        return invoke(tasks, policies, frameCounts, parallelism);
+    }
+
+    private static SweepTable invoke(List<Callable<SimulationResult>> tasks, List<PolicyType> policies,
+                                     int[] frameCounts, int parallelism) {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            List<Future<SimulationResult>> futures = pool.invokeAll(tasks);
+            SimulationResult[][] cells = new SimulationResult[frameCounts.length][policies.size()];
+            int i = 0;
+            for (int f = 0; f < frameCounts.length; f++) {
+                for (int p = 0; p < policies.size(); p++) {
+                    cells[f][p] = futures.get(i++).get();
+                }
+            }
+            return new SweepTable(policies, frameCounts, cells);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Sweep interrupted", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            throw new IllegalStateException("Sweep task failed: " + cause, cause);
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
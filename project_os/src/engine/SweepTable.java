@@ -0,0 +1,47 @@
+package engine;
+
+import java.util.List;
+
+/**
+ * Results of a policy × frame-count sweep: one {@link SimulationResult} per cell.
+ */
+public class SweepTable {
+    private final List<PolicyType> policies;
+    private final int[] frameCounts;
+    private final SimulationResult[][] cells; // [frame index][policy index]
+
+    public SweepTable(List<PolicyType> policies, int[] frameCounts, SimulationResult[][] cells) {
+        this.policies = policies;
+        this.frameCounts = frameCounts;
+        this.cells = cells;
+    }
+
+    public SimulationResult get(int frameIndex, int policyIndex) {
+        return cells[frameIndex][policyIndex];
+    }
+
+    public List<PolicyType> getPolicies() { return policies; }
+
+    public int[] getFrameCounts() { return frameCounts; }
+
+    /** Fault rate (%) per policy, one row per frame count. */
+    public void display() {
+        StringBuilder header = new StringBuilder(String.format("%-10s", "Frames"));
+        for (PolicyType type : policies) {
+            header.append(String.format(" | %-9s", type.getDisplayName()));
+        }
+        System.out.println(header);
+        System.out.println("-".repeat(header.length()));
+        for (int f = 0; f < frameCounts.length; f++) {
+            StringBuilder row = new StringBuilder(String.format("%-10d", frameCounts[f]));
+            for (int p = 0; p < policies.size(); p++) {
+                row.append(String.format(" | %8.2f%%", cells[f][p].getFaultRate()));
+            }
+            System.out.println(row);
+        }
+        System.out.println("-".repeat(header.length()));
+        if (frameCounts.length > 0 && !policies.isEmpty()) {
+            System.out.println("Total Requests: " + cells[0][0].getTotalRequests());
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package metrics;
+
+/**
+ * Implemented by policies with a clock hand, so that {@link MeteredPolicy} can
+ * report how far the hand travels. The count only moves while
+ * {@link Metrics#ENABLED} is set.
+ */
+public interface HandCounter {
+
+    /** @return frames the hand has examined so far, victims included */
+    long getHandAdvances();
+}
@@ -0,0 +1,233 @@
+package metrics;
+
+import engine.ReplacementPolicy;
+
+import javax.management.ObjectName;
+import java.util.function.IntConsumer;
+
+/**
+ * Counting wrapper around a policy, installed by {@link Metrics} only while metrics
+ * are enabled.
+ * <p>
+ * The counters are plain fields owned by the simulation thread. Every
+ * {@value #PUBLISH_INTERVAL} references (and at the end) they are copied into an
+ * immutable {@link Snapshot} behind a volatile field, which is all that JMX and
+ * JFR threads ever read. Latency is timed on one reference in
+ * {@value #LATENCY_SAMPLE_INTERVAL}, so the two {@code nanoTime} calls stay off
+ * most references. Evictions are the faults after the frames first filled up,
+ * since every policy here fills its free frames before evicting.
+ */
+public final class MeteredPolicy implements ReplacementPolicy, PolicyMetricsMXBean {
+
+    static final int PUBLISH_INTERVAL = 1 << 16;
+    static final int LATENCY_SAMPLE_INTERVAL = 64;
+
+    private final ReplacementPolicy policy;
+    private final HandCounter hand;     // null if the policy has no clock hand
+    private final ObjectName objectName;
+    private final SimulationRunEvent runEvent = new SimulationRunEvent();
+    private final long started;
+
+    private long requests = 0;
+    private long hits = 0;
+    private final long firstHandAdvances;
+    private long lastHandAdvances;
+    private long scans = 0;             // faults that moved the hand
+    private long maxScan = 0;
+    private final long[] latency = new long[64]; // log2 buckets of nanoseconds
+
+    private volatile Snapshot snapshot;
+
+    MeteredPolicy(ReplacementPolicy policy, ObjectName objectName) {
+        this.policy = policy;
+        this.hand = (policy instanceof HandCounter) ? (HandCounter) policy : null;
+        this.objectName = objectName;
+        this.firstHandAdvances = (hand != null) ? hand.getHandAdvances() : 0;
+        this.lastHandAdvances = firstHandAdvances;
+        this.started = System.nanoTime();
+        this.snapshot = new Snapshot();
+        runEvent.begin();
+    }
+
+    @Override
+    public boolean access(int page) {
+        boolean hit;
+        if (requests % LATENCY_SAMPLE_INTERVAL == 0) {
+            long start = System.nanoTime();
+            hit = policy.access(page);
+            latency[63 - Long.numberOfLeadingZeros(Math.max(1, System.nanoTime() - start))]++;
+        } else {
+            hit = policy.access(page);
+        }
+        requests++;
+        if (hit) {
+            hits++;
+        } else if (hand != null) {
+            long advances = hand.getHandAdvances();
+            long scan = advances - lastHandAdvances;
+            lastHandAdvances = advances;
+            if (scan > 0) {
+                scans++;
+                if (scan > maxScan) maxScan = scan;
+            }
+        }
+        if (requests % PUBLISH_INTERVAL == 0) publish();
+        return hit;
+    }
+
+    private void publish() {
+        snapshot = new Snapshot();
+    }
+
+    void finish() {
+        publish();
+        runEvent.end();
+        if (runEvent.shouldCommit()) {
+            snapshot.fill(runEvent);
+            runEvent.commit();
+        }
+    }
+
+    Snapshot getSnapshot() {
+        return snapshot;
+    }
+
+    ObjectName getObjectName() {
+        return objectName;
+    }
+
+    @Override
+    public int getFrameCount() {
+        return policy.getFrameCount();
+    }
+
+    @Override
+    public String getName() {
+        return policy.getName();
+    }
+
+    @Override
+    public int copyFrames(int[] dest, int offset, int max) {
+        return policy.copyFrames(dest, offset, max);
+    }
+
+    @Override
+    public void forEachFrame(IntConsumer action) {
+        policy.forEachFrame(action);
+    }
+
+    // --- PolicyMetricsMXBean: read from the last snapshot ---
+
+    @Override
+    public String getPolicy() { return snapshot.policy; }
+
+    @Override
+    public int getFrames() { return snapshot.frames; }
+
+    @Override
+    public long getRequests() { return snapshot.requests; }
+
+    @Override
+    public long getHits() { return snapshot.hits; }
+
+    @Override
+    public long getFaults() { return snapshot.faults; }
+
+    @Override
+    public long getEvictions() { return snapshot.evictions; }
+
+    @Override
+    public double getFaultRate() {
+        Snapshot s = snapshot;
+        return s.requests > 0 ? (double) s.faults / s.requests * 100 : 0;
+    }
+
+    @Override
+    public double getReferencesPerSecond() { return snapshot.referencesPerSecond; }
+
+    @Override
+    public long getHandAdvances() { return snapshot.handAdvances; }
+
+    @Override
+    public double getMeanScanLength() { return snapshot.meanScanLength; }
+
+    @Override
+    public long getMaxScanLength() { return snapshot.maxScanLength; }
+
+    @Override
+    public long getLatencyP50Nanos() { return snapshot.latencyP50; }
+
+    @Override
+    public long getLatencyP99Nanos() { return snapshot.latencyP99; }
+
+    @Override
+    public long getLatencyMaxNanos() { return snapshot.latencyMax; }
+
+    /** Counters at one point of the run, taken on the simulation thread. */
+    final class Snapshot {
+        final String policy = MeteredPolicy.this.policy.getName();
+        final int frames = MeteredPolicy.this.policy.getFrameCount();
+        final long requests = MeteredPolicy.this.requests;
+        final long hits = MeteredPolicy.this.hits;
+        final long faults = requests - hits;
+        final long evictions = Math.max(0, faults - frames);
+        final double referencesPerSecond;
+        final long handAdvances = lastHandAdvances - firstHandAdvances;
+        final double meanScanLength = scans > 0 ? (double) handAdvances / scans : 0;
+        final long maxScanLength = maxScan;
+        final long latencyP50 = latencyPercentile(0.50);
+        final long latencyP99 = latencyPercentile(0.99);
+        final long latencyMax = latencyPercentile(1.0);
+
+        Snapshot() {
+            long elapsed = System.nanoTime() - started;
+            this.referencesPerSecond = elapsed > 0 ? requests * 1e9 / elapsed : 0;
+        }
+
+        void fill(PolicySampleEvent event) {
+            event.policy = policy;
+            event.frames = frames;
+            event.requests = requests;
+            event.hits = hits;
+            event.faults = faults;
+            event.evictions = evictions;
+            event.referencesPerSecond = referencesPerSecond;
+            event.handAdvances = handAdvances;
+            event.meanScanLength = meanScanLength;
+            event.maxScanLength = maxScanLength;
+            event.latencyP50 = latencyP50;
+            event.latencyP99 = latencyP99;
+            event.latencyMax = latencyMax;
+        }
+
+        void fill(SimulationRunEvent event) {
+            event.policy = policy;
+            event.frames = frames;
+            event.requests = requests;
+            event.hits = hits;
+            event.faults = faults;
+            event.evictions = evictions;
+            event.referencesPerSecond = referencesPerSecond;
+            event.handAdvances = handAdvances;
+            event.meanScanLength = meanScanLength;
+            event.maxScanLength = maxScanLength;
+            event.latencyP50 = latencyP50;
+            event.latencyP99 = latencyP99;
+            event.latencyMax = latencyMax;
+        }
+    }
+
+    /** @return upper bound (ns) of the bucket holding the given fraction of timed references */
+    private long latencyPercentile(double fraction) {
+        long total = 0;
+        for (long count : latency) total += count;
+        if (total == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(fraction * total));
+        long seen = 0;
+        for (int k = 0; k < latency.length; k++) {
+            seen += latency[k];
+            if (seen >= rank) return k == 62 ? Long.MAX_VALUE : (2L << k) - 1;
+        }
+        return Long.MAX_VALUE;
+    }
+}
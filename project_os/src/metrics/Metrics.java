@@ -0,0 +1,120 @@
+package metrics;
+
+import engine.ReplacementPolicy;
+import jdk.jfr.FlightRecorder;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Switch and registry for run-time metrics.
+ * <p>
+ * Metrics are off unless the JVM is started with {@code -Dmetrics=true}. The
+ * switch is a {@code static final}, so when it is off the JIT drops every
+ * {@code if (Metrics.ENABLED)} branch in the policies, and the
+ * {@link engine.SimulationDriver} runs the policies unwrapped: the hot path is
+ * the same as without this class.
+ * <p>
+ * When it is on, the driver wraps every policy in a {@link MeteredPolicy} for
+ * the length of the run. Each one is registered as an MXBean named
+ * {@code os_project:type=Policy,name="<policy> <frames> #<id>"} (visible in
+ * JConsole or VisualVM), is sampled by {@link PolicySampleEvent} once per second
+ * while a JFR recording is running, and commits a {@link SimulationRunEvent}
+ * when the run ends.
+ */
+public final class Metrics {
+
+    public static final boolean ENABLED = Boolean.getBoolean("metrics");
+
+    private static final String DOMAIN = "os_project";
+
+    private static final Set<MeteredPolicy> running = ConcurrentHashMap.newKeySet();
+    private static final AtomicLong nextId = new AtomicLong();
+
+    static {
+        if (ENABLED) {
+            FlightRecorder.addPeriodicEvent(PolicySampleEvent.class, Metrics::emitSamples);
+        }
+    }
+
+    private Metrics() {
+    }
+
+    /** Wraps and registers each policy; pass the result to {@link #finish} after the run. */
+    public static ReplacementPolicy[] start(ReplacementPolicy[] policies) {
+        ReplacementPolicy[] metered = new ReplacementPolicy[policies.length];
+        for (int i = 0; i < policies.length; i++) {
+            try {
+                metered[i] = start(policies[i]);
+            } catch (RuntimeException e) {
+                // Unregister the ones already started before giving up
+                try {
+                    finish(Arrays.copyOf(metered, i));
+                } catch (RuntimeException cleanup) {
+                    e.addSuppressed(cleanup);
+                }
+                throw e;
+            }
+        }
+        return metered;
+    }
+
+    public static ReplacementPolicy start(ReplacementPolicy policy) {
+        long id = nextId.incrementAndGet();
+        MeteredPolicy metered = new MeteredPolicy(policy, objectName(policy, id));
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(metered, metered.getObjectName());
+        } catch (JMException e) {
+            throw new IllegalStateException("Cannot register metrics for " + policy.getName() + ".", e);
+        }
+        running.add(metered);
+        return metered;
+    }
+
+    /** Finishes every policy, even if an earlier one fails to unregister. */
+    public static void finish(ReplacementPolicy[] policies) {
+        RuntimeException failure = null;
+        for (ReplacementPolicy policy : policies) {
+            try {
+                finish(policy);
+            } catch (RuntimeException e) {
+                if (failure == null) failure = e; else failure.addSuppressed(e);
+            }
+        }
+        if (failure != null) throw failure;
+    }
+
+    /** Publishes the final counts, commits the run event and unregisters the MXBean. */
+    public static void finish(ReplacementPolicy policy) {
+        MeteredPolicy metered = (MeteredPolicy) policy;
+        running.remove(metered);
+        metered.finish();
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(metered.getObjectName());
+        } catch (JMException e) {
+            throw new IllegalStateException("Cannot unregister metrics for " + policy.getName() + ".", e);
+        }
+    }
+
+    private static ObjectName objectName(ReplacementPolicy policy, long id) {
+        try {
+            return new ObjectName(DOMAIN + ":type=Policy,name="
+                    + ObjectName.quote(policy.getName() + " " + policy.getFrameCount() + " #" + id));
+        } catch (JMException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void emitSamples() {
+        for (MeteredPolicy policy : running) {
+            PolicySampleEvent event = new PolicySampleEvent();
+            policy.getSnapshot().fill(event);
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package metrics;
+
+/**
+ * Live counters of one policy during a run, as published by {@link MeteredPolicy}.
+ * Values are refreshed every {@value MeteredPolicy#PUBLISH_INTERVAL} references
+ * and at the end of the run. Latencies are bucket upper bounds in nanoseconds,
+ * measured on a sample of the references.
+ */
+public interface PolicyMetricsMXBean {
+
+    String getPolicy();
+
+    int getFrames();
+
+    long getRequests();
+
+    long getHits();
+
+    long getFaults();
+
+    long getEvictions();
+
+    double getFaultRate();
+
+    double getReferencesPerSecond();
+
+    /** @return frames examined by the clock hand, or 0 for policies without one */
+    long getHandAdvances();
+
+    double getMeanScanLength();
+
+    long getMaxScanLength();
+
+    long getLatencyP50Nanos();
+
+    long getLatencyP99Nanos();
+
+    long getLatencyMaxNanos();
+}
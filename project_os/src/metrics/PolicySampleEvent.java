@@ -0,0 +1,64 @@
+package metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Period;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Periodic JFR event with the counters of every policy that is running, e.g.
+ * {@code jfr print --events os_project.PolicySample recording.jfr}.
+ */
+@Name("os_project.PolicySample")
+@Label("Policy Sample")
+@Category({"OS Project", "Simulation"})
+@Description("Counters of a running page replacement policy")
+@Period("1 s")
+@StackTrace(false)
+class PolicySampleEvent extends Event {
+    @Label("Policy")
+    String policy;
+
+    @Label("Frames")
+    int frames;
+
+    @Label("Requests")
+    long requests;
+
+    @Label("Hits")
+    long hits;
+
+    @Label("Faults")
+    long faults;
+
+    @Label("Evictions")
+    long evictions;
+
+    @Label("References per Second")
+    double referencesPerSecond;
+
+    @Label("Hand Advances")
+    long handAdvances;
+
+    @Label("Mean Scan Length")
+    double meanScanLength;
+
+    @Label("Max Scan Length")
+    long maxScanLength;
+
+    @Label("Latency p50")
+    @Timespan(Timespan.NANOSECONDS)
+    long latencyP50;
+
+    @Label("Latency p99")
+    @Timespan(Timespan.NANOSECONDS)
+    long latencyP99;
+
+    @Label("Latency Max")
+    @Timespan(Timespan.NANOSECONDS)
+    long latencyMax;
+}
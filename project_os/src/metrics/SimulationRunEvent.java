@@ -0,0 +1,59 @@
+package metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/** JFR event spanning one policy's run, with its final counters. */
+@Name("os_project.SimulationRun")
+@Label("Simulation Run")
+@Category({"OS Project", "Simulation"})
+@Description("One page replacement policy replayed over a trace")
+@StackTrace(false)
+class SimulationRunEvent extends Event {
+    @Label("Policy")
+    String policy;
+
+    @Label("Frames")
+    int frames;
+
+    @Label("Requests")
+    long requests;
+
+    @Label("Hits")
+    long hits;
+
+    @Label("Faults")
+    long faults;
+
+    @Label("Evictions")
+    long evictions;
+
+    @Label("References per Second")
+    double referencesPerSecond;
+
+    @Label("Hand Advances")
+    long handAdvances;
+
+    @Label("Mean Scan Length")
+    double meanScanLength;
+
+    @Label("Max Scan Length")
+    long maxScanLength;
+
+    @Label("Latency p50")
+    @Timespan(Timespan.NANOSECONDS)
+    long latencyP50;
+
+    @Label("Latency p99")
+    @Timespan(Timespan.NANOSECONDS)
+    long latencyP99;
+
+    @Label("Latency Max")
+    @Timespan(Timespan.NANOSECONDS)
+    long latencyMax;
+}
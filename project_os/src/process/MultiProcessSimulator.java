@@ -0,0 +1,149 @@
+package process;
+
+import engine.PageStream;
+import engine.PolicyType;
+import engine.ReplacementPolicy;
+import engine.SimulationDriver;
+import engine.SimulationResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * Several processes, each with its own reference string, sharing one pool of
+ * physical frames.
+ * <p>
+ * <b>Local</b> replacement gives every process a fixed quota and its own policy
+ * instance, so a process can only evict its own pages. The processes are then
+ * independent and each one runs on its own fork-join worker; interleaving cannot
+ * change the outcome.
+ * <p>
+ * <b>Global</b> replacement runs one policy over all frames. A round-robin
+ * scheduler hands each process a time slice of references in turn, and per-process
+ * {@link PageTable}s keep their page numbers apart. A process that faults may evict
+ * anybody's page, which is where one tenant's working set can push out another's.
+ */
+public final class MultiProcessSimulator {
+
+    private MultiProcessSimulator() {
+    }
+
+    /** Splits the frames as evenly as possible; the first processes get the remainder. */
+    public static int[] equalQuotas(int frames, int processes) {
+        if (frames < processes) {
+            throw new IllegalArgumentException("Need at least one frame per process (" + processes + ").");
+        }
+        int[] quotas = new int[processes];
+        for (int p = 0; p < processes; p++) {
+            quotas[p] = frames / processes + (p < frames % processes ? 1 : 0);
+        }
+        return quotas;
+    }
+
+    /**
+     * Local replacement: each process runs against its own quota, in parallel.
+     *
+     * @param traces one supplier per process; each is called once, on the worker
+     */
+    public static ProcessResult[] runLocal(List<? extends Supplier<? extends PageStream>> traces, List<String> names,
+                                           PolicyType type, int[] quotas, int parallelism) {
+        checkOnline(type);
+        if (quotas.length != traces.size()) {
+            throw new IllegalArgumentException("Need one quota per process.");
+        }
+        List<Callable<SimulationResult>> tasks = new ArrayList<>();
+        for (int p = 0; p < traces.size(); p++) {
+            Supplier<? extends PageStream> trace = traces.get(p);
+            int quota = quotas[p];
+            tasks.add(() -> {
+                PageStream pages = trace.get();
+                try {
+                    return SimulationDriver.run(type.create(quota), pages);
+                } finally {
+                    if (pages instanceof AutoCloseable) ((AutoCloseable) pages).close();
+                }
+            });
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            List<Future<SimulationResult>> futures = pool.invokeAll(tasks);
+            ProcessResult[] results = new ProcessResult[tasks.size()];
+            for (int p = 0; p < results.length; p++) {
+                SimulationResult r = futures.get(p).get();
+                results[p] = new ProcessResult(p, names.get(p), quotas[p], r.getTotalRequests(), r.getPageFaults());
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Simulation interrupted", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            throw new IllegalStateException("Process simulation failed: " + cause, cause);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Global replacement: one policy over all frames, processes interleaved
+     * round-robin, {@code timeSlice} references at a time, until every trace ends.
+     */
+    public static ProcessResult[] runGlobal(List<? extends PageStream> traces, List<String> names,
+                                            PolicyType type, int frames, int timeSlice) {
+        checkOnline(type);
+        if (timeSlice <= 0) throw new IllegalArgumentException("Time slice must be greater than 0.");
+        int n = traces.size();
+        ReplacementPolicy policy = type.create(frames);
+        PageTable.PageSpace space = new PageTable.PageSpace();
+        PageTable[] tables = new PageTable[n];
+        long[] requests = new long[n];
+        long[] faults = new long[n];
+
+        // Run queue of the processes that still have references left
+        int[] ready = new int[n];
+        for (int p = 0; p < n; p++) {
+            tables[p] = new PageTable(p, space);
+            ready[p] = p;
+        }
+        int readyCount = n;
+        while (readyCount > 0) {
+            int kept = 0;
+            for (int r = 0; r < readyCount; r++) {
+                int pid = ready[r];
+                PageStream pages = traces.get(pid);
+                PageTable table = tables[pid];
+                int slice = 0;
+                while (slice < timeSlice && pages.hasNext()) {
+                    if (!policy.access(table.translate(pages.nextPage()))) faults[pid]++;
+                    slice++;
+                }
+                requests[pid] += slice;
+                if (pages.hasNext()) ready[kept++] = pid;
+            }
+            readyCount = kept;
+        }
+
+        // Who holds the frames at the end shows which processes crowded out the others
+        int[] held = new int[n];
+        policy.forEachFrame(page -> held[space.ownerOf(page)]++);
+
+        ProcessResult[] results = new ProcessResult[n];
+        for (int p = 0; p < n; p++) {
+            results[p] = new ProcessResult(p, names.get(p), held[p], requests[p], faults[p]);
+        }
+        return results;
+    }
+
+    private static void checkOnline(PolicyType type) {
+        if (type.isOffline()) {
+            throw new IllegalArgumentException(type.getDisplayName() + " needs the whole trace and cannot be scheduled.");
+        }
+    }
+}
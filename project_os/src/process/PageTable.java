@@ -0,0 +1,62 @@
+package process;
+
+import utils.IntIntMap;
+
+import java.util.Arrays;
+
+/**
+ * One process's page table: maps the page numbers in its trace onto system-wide
+ * page IDs, so that pages of different processes never collide in a shared
+ * replacement policy. IDs are handed out on first touch and never reused.
+ */
+public class PageTable {
+
+    private final int pid;
+    private final PageSpace space;
+    private final IntIntMap entries = new IntIntMap(16); // process page -> system page
+
+    PageTable(int pid, PageSpace space) {
+        this.pid = pid;
+        this.space = space;
+    }
+
+    /** @return the system-wide ID of this process's page, allocating it on first touch */
+    public int translate(int page) {
+        int id = entries.get(page);
+        if (id == IntIntMap.MISSING) {
+            id = space.allocate(pid);
+            entries.put(page, id);
+        }
+        return id;
+    }
+
+    public int getPid() {
+        return pid;
+    }
+
+    /** @return distinct pages this process has touched */
+    public int size() {
+        return entries.size();
+    }
+
+    /** System-wide page ID allocator that remembers which process owns each ID. */
+    static final class PageSpace {
+        private int[] owner = new int[1024];
+        private int next = 0;
+
+        int allocate(int pid) {
+            if (next == Integer.MAX_VALUE) {
+                throw new IllegalStateException("More than " + Integer.MAX_VALUE + " distinct pages across all processes.");
+            }
+            if (next == owner.length) {
+                owner = Arrays.copyOf(owner, (int) Math.min(Integer.MAX_VALUE - 8L, owner.length * 2L));
+            }
+            owner[next] = pid;
+            return next++;
+        }
+
+        int ownerOf(int id) {
+            return owner[id];
+        }
+    }
+}
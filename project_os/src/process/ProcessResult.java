@@ -0,0 +1,44 @@
+package process;
+
+/**
+ * Outcome for one process of a multi-process run.
+ */
+public class ProcessResult {
+    private final int pid;
+    private final String trace;
+    private final int frames;
+    private final long totalRequests;
+    private final long pageFaults;
+
+    /**
+     * @param frames the process's quota under local replacement, or the frames it
+     *               held when the run ended under global replacement
+     */
+    public ProcessResult(int pid, String trace, int frames, long totalRequests, long pageFaults) {
+        this.pid = pid;
+        this.trace = trace;
+        this.frames = frames;
+        this.totalRequests = totalRequests;
+        this.pageFaults = pageFaults;
+    }
+
+    public int getPid() { return pid; }
+
+    public String getTrace() { return trace; }
+
+    public int getFrames() { return frames; }
+
+    public long getTotalRequests() { return totalRequests; }
+
+    public long getPageFaults() { return pageFaults; }
+
+    public double getFaultRate() {
+        return totalRequests > 0 ? (double) pageFaults / totalRequests * 100 : 0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("P%-5d | frames=%-8d | requests=%-10d | faults=%-10d | fault rate=%.2f%%",
+                pid, frames, totalRequests, pageFaults, getFaultRate());
+    }
+}
@@ -0,0 +1,82 @@
+package shards;
+
+/**
+ * Fault rates estimated from a sampled trace, with a 95% error bound per frame
+ * count.
+ * <p>
+ * The rate comes from the whole sample. The bound comes from splitting the same
+ * sample into {@value ShardsHash#GROUPS} hash groups that are estimated
+ * separately (the random-groups method): the variance of the full-sample estimate
+ * is about that of the group estimates divided by the number of groups, and the
+ * bound is the matching Student t interval. A frame count too small to scale down
+ * to one sampled frame has no estimate ({@code NaN}).
+ */
+public class EstimatedCurve {
+    private final String name;
+    private final int[] frameCounts;
+    private final double[] faultRate;   // percent
+    private final double[] errorBound;  // +/- percent
+    private final long totalRequests;
+    private final long sampledRequests;
+
+    /**
+     * @param rates      fault ratio (0..1) per frame count from the whole sample; NaN where unavailable
+     * @param groupRates the same per hash group
+     */
+    EstimatedCurve(String name, int[] frameCounts, double[] rates, double[][] groupRates,
+                   long totalRequests, long sampledRequests) {
+        this.name = name;
+        this.frameCounts = frameCounts.clone();
+        this.faultRate = new double[frameCounts.length];
+        this.errorBound = new double[frameCounts.length];
+        this.totalRequests = totalRequests;
+        this.sampledRequests = sampledRequests;
+
+        int groups = groupRates.length;
+        for (int i = 0; i < frameCounts.length; i++) {
+            double sum = 0;
+            for (double[] group : groupRates) sum += group[i];
+            double mean = sum / groups;
+            double squares = 0;
+            for (double[] group : groupRates) {
+                double d = group[i] - mean;
+                squares += d * d;
+            }
+            double stdErr = Math.sqrt(squares / (groups - 1) / groups);
+            // Without every group's estimate there is no bound, so no estimate either
+            boolean missing = Double.isNaN(rates[i]) || Double.isNaN(mean);
+            faultRate[i] = missing ? Double.NaN : Math.min(1, Math.max(0, rates[i])) * 100;
+            errorBound[i] = Math.min(100, ShardsHash.T_95 * stdErr * 100);
+        }
+    }
+
+    public String getName() { return name; }
+
+    public int[] getFrameCounts() { return frameCounts.clone(); }
+
+    /** @return estimated fault rate in percent, or NaN */
+    public double getFaultRate(int index) { return faultRate[index]; }
+
+    /** @return half-width of the 95% interval, in percentage points */
+    public double getErrorBound(int index) { return errorBound[index]; }
+
+    public long getTotalRequests() { return totalRequests; }
+
+    public long getSampledRequests() { return sampledRequests; }
+
+    /** Prints one row per frame count. */
+    public void display() {
+        System.out.println("Frames     | Est. Fault Rate | 95% bound");
+        System.out.println("------------------------------------------");
+        for (int i = 0; i < frameCounts.length; i++) {
+            if (Double.isNaN(faultRate[i])) {
+                System.out.printf("%-10d | %-15s | (below one sampled frame)\n", frameCounts[i], "n/a");
+                continue;
+            }
+            System.out.printf("%-10d | %13.2f%%  | +/- %.2f\n", frameCounts[i], faultRate[i], errorBound[i]);
+        }
+        System.out.println("------------------------------------------");
+        System.out.printf("Total Requests: %d (sampled %d, %.3f%%)\n", totalRequests, sampledRequests,
+                totalRequests > 0 ? (double) sampledRequests / totalRequests * 100 : 0);
+    }
+}
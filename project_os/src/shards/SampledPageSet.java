@@ -0,0 +1,99 @@
+package shards;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * The pages of a fixed-size spatial sample: a page belongs to it when its hash
+ * falls below a threshold, so every reference to a sampled page is kept.
+ * <p>
+ * At most {@code maxPages} pages are tracked. When a new page would exceed that,
+ * the pages with the largest hash are dropped and the threshold is lowered to
+ * their hash, so the rate only ever goes down and memory stays fixed however long
+ * the trace is. Tracked pages sit in a max-heap on hash, so the next pages to drop
+ * are always on top.
+ */
+public final class SampledPageSet {
+
+    private final int maxPages;
+    private int threshold;
+
+    // Tracked pages as (hash value << 32 | page)
+    private long[] heap = new long[64];
+    private int size = 0;
+
+    /**
+     * @param rate     initial sampling rate, 0 < rate <= 1
+     * @param maxPages most pages tracked at once
+     */
+    public SampledPageSet(double rate, int maxPages) {
+        if (maxPages <= 0) throw new IllegalArgumentException("Sample must hold at least one page.");
+        this.threshold = ShardsHash.threshold(rate);
+        this.maxPages = maxPages;
+    }
+
+    /** @return the 64-bit hash that {@link #contains} and {@link #add} expect */
+    public static long hash(int page) {
+        return ShardsHash.mix(page);
+    }
+
+    public boolean contains(long hash) {
+        return ShardsHash.value(hash) < threshold;
+    }
+
+    /**
+     * Starts tracking a sampled page seen for the first time. If that goes over
+     * the limit, the rate is lowered and every page dropped is passed to
+     * {@code onDrop} (possibly including this one).
+     */
+    public void add(int page, long hash, IntConsumer onDrop) {
+        push(((long) ShardsHash.value(hash) << 32) | page);
+        if (size <= maxPages) return;
+
+        threshold = (int) (heap[0] >>> 32);
+        while (size > 0 && (int) (heap[0] >>> 32) >= threshold) {
+            onDrop.accept((int) heap[0]);
+            pop();
+        }
+    }
+
+    /** @return the fraction of pages sampled right now */
+    public double getRate() {
+        return (double) threshold / ShardsHash.MODULUS;
+    }
+
+    /** @return true while every page is sampled, i.e. nothing has been dropped */
+    public boolean isComplete() {
+        return threshold == ShardsHash.MODULUS;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void push(long entry) {
+        if (size == heap.length) heap = Arrays.copyOf(heap, heap.length * 2);
+        int i = size++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (heap[parent] >= entry) break;
+            heap[i] = heap[parent];
+            i = parent;
+        }
+        heap[i] = entry;
+    }
+
+    private void pop() {
+        long last = heap[--size];
+        int i = 0;
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= size) break;
+            if (child + 1 < size && heap[child + 1] > heap[child]) child++;
+            if (heap[child] <= last) break;
+            heap[i] = heap[child];
+            i = child;
+        }
+        if (size > 0) heap[i] = last;
+    }
+}
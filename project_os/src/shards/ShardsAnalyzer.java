@@ -0,0 +1,166 @@
+package shards;
+
+import LRU.StackDistanceAnalyzer;
+import engine.PageStream;
+
+import java.util.Arrays;
+
+/**
+ * LRU miss-ratio curve from a spatially sampled trace (SHARDS, Waldspurger et al.,
+ * FAST '15), in constant memory.
+ * <p>
+ * Only pages whose hash falls below the threshold are fed to a
+ * {@link StackDistanceAnalyzer}. At sampling rate {@code R}, a sampled reuse
+ * distance {@code d} stands for a distance of {@code d / R} in the full trace and
+ * each sampled reference for {@code 1 / R} references. Fault counts are divided by
+ * the true number of references, which also corrects for a sample that happens to
+ * be busier or quieter than its share (SHARDS-adj).
+ * <p>
+ * The whole sample and each of its eight hash groups (for the error bound) run
+ * their own analysis over a {@link SampledPageSet}: the whole sample tracks at
+ * most {@code maxPages} distinct pages and a group an eighth of that, lowering
+ * its rate as needed, so memory stays fixed however long the trace is. Faults are accumulated directly
+ * per requested frame count, so the frame counts can be as large as needed.
+ */
+public class ShardsAnalyzer {
+
+    private final int[] frameCounts;  // ascending
+    private final boolean trim;
+    private final Group all;
+    private final Group[] groups = new Group[ShardsHash.GROUPS];
+    private long totalRequests = 0;
+    private long sampledRequests = 0;
+    private double maxScaledDistance = 0;
+
+    /**
+     * @param rate        initial sampling rate, 0 < rate <= 1
+     * @param maxPages    most distinct sampled pages kept at once, over all groups
+     * @param frameCounts frame counts to estimate, or null for a geometric grid cut
+     *                    off just past the largest distance seen
+     */
+    public ShardsAnalyzer(double rate, int maxPages, int[] frameCounts) {
+        if (maxPages < ShardsHash.GROUPS) {
+            throw new IllegalArgumentException("Need room for at least " + ShardsHash.GROUPS + " sampled pages.");
+        }
+        this.trim = (frameCounts == null);
+        this.frameCounts = trim ? defaultFrameCounts() : sortedDistinct(frameCounts);
+        this.all = new Group(rate, maxPages, 1, this.frameCounts.length);
+        for (int g = 0; g < groups.length; g++) {
+            groups[g] = new Group(rate, maxPages / ShardsHash.GROUPS, ShardsHash.GROUPS, this.frameCounts.length);
+        }
+    }
+
+    public void access(int page) {
+        totalRequests++;
+        long hash = ShardsHash.mix(page);
+        if (all.sample.contains(hash)) {
+            sampledRequests++;
+            all.access(page, hash);
+        }
+        Group group = groups[ShardsHash.group(hash)];
+        if (group.sample.contains(hash)) group.access(page, hash);
+    }
+
+    public void accessAll(PageStream pages) {
+        while (pages.hasNext()) {
+            access(pages.nextPage());
+        }
+    }
+
+    /** @return the current sampling rate (it only goes down) */
+    public double getRate() {
+        return all.sample.getRate();
+    }
+
+    public EstimatedCurve getCurve() {
+        int count = frameCounts.length;
+        if (trim) {
+            // Beyond the largest distance seen only cold misses fault; one row there is enough
+            count = 1;
+            while (count < frameCounts.length && frameCounts[count - 1] < maxScaledDistance) count++;
+        }
+        int[] sizes = Arrays.copyOf(frameCounts, count);
+        double[][] rates = new double[groups.length][];
+        for (int g = 0; g < groups.length; g++) {
+            rates[g] = groups[g].faultRatios(count);
+        }
+        return new EstimatedCurve("LRU", sizes, all.faultRatios(count), rates, totalRequests, sampledRequests);
+    }
+
+    public static EstimatedCurve analyze(PageStream pages, double rate, int maxPages, int[] frameCounts) {
+        ShardsAnalyzer analyzer = new ShardsAnalyzer(rate, maxPages, frameCounts);
+        analyzer.accessAll(pages);
+        return analyzer.getCurve();
+    }
+
+    /** 1, 2, 3, 4, 6, 8, 12, 16, ... up to the largest int. */
+    static int[] defaultFrameCounts() {
+        int[] sizes = new int[64];
+        int n = 0;
+        for (long p = 1; p <= Integer.MAX_VALUE; p <<= 1) {
+            sizes[n++] = (int) p;
+            long between = p + p / 2;
+            if (p >= 2 && between <= Integer.MAX_VALUE) sizes[n++] = (int) between;
+        }
+        return Arrays.copyOf(sizes, n);
+    }
+
+    static int[] sortedDistinct(int[] frameCounts) {
+        return Arrays.stream(frameCounts).sorted().distinct().toArray();
+    }
+
+    private final class Group {
+        final StackDistanceAnalyzer stack = new StackDistanceAnalyzer();
+        final SampledPageSet sample;
+        final int share;  // 1 for the whole sample, GROUPS for one hash group
+
+        // missWeight[j]: weighted references whose scaled distance is above frameCounts[j - 1]
+        // and at most frameCounts[j] (j == length: above them all)
+        final double[] missWeight;
+        double coldWeight = 0;
+
+        Group(double rate, int maxPages, int share, int sizes) {
+            this.sample = new SampledPageSet(rate, maxPages);
+            this.share = share;
+            this.missWeight = new double[sizes + 1];
+        }
+
+        void access(int page, long hash) {
+            // Fraction of all references that reach this group
+            double rate = sample.getRate() / share;
+            double weight = 1 / rate;
+            int distance = stack.reference(page);
+            if (distance == 0) {
+                coldWeight += weight;
+                sample.add(page, hash, stack::forget);
+                return;
+            }
+            double scaled = distance / rate;
+            if (scaled > maxScaledDistance) maxScaledDistance = scaled;
+            missWeight[firstAtLeast(scaled)] += weight;
+        }
+
+        /** Fault ratio for the first {@code count} frame counts. */
+        double[] faultRatios(int count) {
+            double[] ratios = new double[count];
+            // misses(c_i) = cold + every reference whose scaled distance is above c_i
+            double beyond = 0;
+            for (int j = frameCounts.length; j > count; j--) beyond += missWeight[j];
+            for (int i = count - 1; i >= 0; i--) {
+                beyond += missWeight[i + 1];
+                ratios[i] = totalRequests > 0 ? (coldWeight + beyond) / totalRequests : 0;
+            }
+            return ratios;
+        }
+
+        private int firstAtLeast(double scaled) {
+            int lo = 0;
+            int hi = frameCounts.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (frameCounts[mid] < scaled) lo = mid + 1; else hi = mid;
+            }
+            return lo;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package shards;
+
+/**
+ * Spatial hashing shared by the SHARDS estimators.
+ * <p>
+ * A page is sampled when the low {@value #HASH_BITS} bits of its hash fall below a
+ * threshold {@code T}, so the sampling rate is {@code T / 2^24} and every
+ * reference to a sampled page is kept, which is what preserves reuse distances.
+ * Three other bits of the same hash split the sampled pages into
+ * {@value #GROUPS} independent groups; the spread between the groups' estimates
+ * is what the error bounds are computed from.
+ */
+final class ShardsHash {
+
+    static final int HASH_BITS = 24;
+    static final int MODULUS = 1 << HASH_BITS;
+    static final int GROUPS = 8;
+
+    /** Two-sided 95% Student t quantile for GROUPS - 1 degrees of freedom. */
+    static final double T_95 = 2.365;
+
+    private ShardsHash() {
+    }
+
+    /** 64-bit finalizer (SplitMix64), so that neighbouring page IDs land far apart. */
+    static long mix(int page) {
+        long z = page * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    static int value(long hash) {
+        return (int) (hash & (MODULUS - 1));
+    }
+
+    static int group(long hash) {
+        return (int) ((hash >>> HASH_BITS) & (GROUPS - 1));
+    }
+
+    /** Threshold that samples about {@code rate} of all pages, at least one hash value. */
+    static int threshold(double rate) {
+        if (!(rate > 0 && rate <= 1)) {
+            throw new IllegalArgumentException("Sampling rate must be in (0, 1]: " + rate);
+        }
+        return (int) Math.max(1, Math.round(rate * MODULUS));
+    }
+}
@@ -0,0 +1,89 @@
+package shards;
+
+import engine.PageStream;
+import engine.PolicyType;
+import engine.ReplacementPolicy;
+
+import java.util.List;
+
+/**
+ * Fault-rate estimates for any online policy from a spatially sampled trace.
+ * <p>
+ * Pages are sampled at a fixed rate {@code R} by hash. Every policy runs on the
+ * sample with its frame counts scaled by {@code R} (rounded), and again on each of
+ * the {@value ShardsHash#GROUPS} hash groups with frame counts scaled by
+ * {@code R / 8}, for the error bound. Faults, scaled back up by the rate, are
+ * divided by the true number of references, as in {@link ShardsAnalyzer}. Policy
+ * state is bounded by the scaled frame counts, and the whole estimate costs one
+ * pass in which most references are only hashed.
+ */
+public final class ShardsPolicyEstimator {
+
+    private ShardsPolicyEstimator() {
+    }
+
+    public static EstimatedCurve[] estimate(PageStream pages, List<PolicyType> types, int[] frameCounts, double rate) {
+        for (PolicyType type : types) {
+            if (type.isOffline()) {
+                throw new IllegalArgumentException(type.getDisplayName() + " needs the whole trace and cannot be sampled.");
+            }
+        }
+        int threshold = ShardsHash.threshold(rate);
+        int groups = ShardsHash.GROUPS;
+        int[] sizes = ShardsAnalyzer.sortedDistinct(frameCounts);
+        double sampleRate = (double) threshold / ShardsHash.MODULUS;
+
+        // Row g < GROUPS is hash group g, row GROUPS the whole sample;
+        // column t * sizes + i; null where the scaled memory is under one frame
+        int columns = types.size() * sizes.length;
+        ReplacementPolicy[][] policies = new ReplacementPolicy[groups + 1][columns];
+        for (int g = 0; g <= groups; g++) {
+            double rowRate = (g == groups) ? sampleRate : sampleRate / groups;
+            for (int t = 0; t < types.size(); t++) {
+                for (int i = 0; i < sizes.length; i++) {
+                    long scaled = Math.round(sizes[i] * rowRate);
+                    if (scaled >= 1) policies[g][t * sizes.length + i] = types.get(t).create((int) scaled);
+                }
+            }
+        }
+
+        long[][] faults = new long[groups + 1][columns];
+        long sampled = 0;
+        long total = 0;
+        while (pages.hasNext()) {
+            int page = pages.nextPage();
+            total++;
+            long hash = ShardsHash.mix(page);
+            if (ShardsHash.value(hash) >= threshold) continue;
+            sampled++;
+            feed(policies[groups], faults[groups], page);
+            int g = ShardsHash.group(hash);
+            feed(policies[g], faults[g], page);
+        }
+
+        EstimatedCurve[] curves = new EstimatedCurve[types.size()];
+        for (int t = 0; t < types.size(); t++) {
+            double[][] rates = new double[groups + 1][sizes.length];
+            for (int g = 0; g <= groups; g++) {
+                double rowRate = (g == groups) ? sampleRate : sampleRate / groups;
+                for (int i = 0; i < sizes.length; i++) {
+                    int k = t * sizes.length + i;
+                    // Faults scaled up by 1 / rate, over the true reference count (SHARDS-adj)
+                    rates[g][i] = (policies[g][k] == null || total == 0)
+                            ? Double.NaN : faults[g][k] / rowRate / total;
+                }
+            }
+            double[][] groupRates = new double[groups][];
+            System.arraycopy(rates, 0, groupRates, 0, groups);
+            curves[t] = new EstimatedCurve(types.get(t).getDisplayName(), sizes, rates[groups], groupRates,
+                    total, sampled);
+        }
+        return curves;
+    }
+
+    private static void feed(ReplacementPolicy[] row, long[] faults, int page) {
+        for (int k = 0; k < row.length; k++) {
+            if (row[k] != null && !row[k].access(page)) faults[k]++;
+        }
+    }
+}
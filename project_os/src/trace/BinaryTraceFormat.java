@@ -0,0 +1,25 @@
+package trace;
+
+import java.nio.ByteOrder;
+
+/**
+ * Layout of the compact binary page trace.
+ * <pre>
+ *   offset 0   int32  magic   "PGTR"
+ *   offset 4   int32  version 1
+ *   offset 8   int32  page IDs, one per reference, until end of file
+ * </pre>
+ * All values are little-endian. Fixed-width records let a reader jump straight
+ * to reference {@code i} at byte {@code 8 + 4 * i}.
+ */
+final class BinaryTraceFormat {
+
+    static final int MAGIC = 0x52544750; // "PGTR" read as little-endian
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 8;
+    static final int RECORD_BYTES = 4;
+    static final ByteOrder ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    private BinaryTraceFormat() {
+    }
+}
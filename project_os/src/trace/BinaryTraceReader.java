@@ -0,0 +1,113 @@
+package trace;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Streams page references out of a binary trace with {@link FileChannel#map}.
+ * <p>
+ * The file is mapped in windows of at most {@value #WINDOW_BYTES} bytes, so traces
+ * far larger than the heap (or than the 2 GB limit of a single mapping) are read
+ * straight from the page cache. Nothing is copied onto the heap per reference.
+ */
+public class BinaryTraceReader implements TraceSource {
+
+    static final long WINDOW_BYTES = 1L << 30;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final long count;
+
+    private MappedByteBuffer window;
+    private long position = 0;
+
+    public BinaryTraceReader(Path path) throws IOException {
+        this.path = path;
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            if (size < BinaryTraceFormat.HEADER_BYTES
+                    || (size - BinaryTraceFormat.HEADER_BYTES) % BinaryTraceFormat.RECORD_BYTES != 0) {
+                throw new IOException("Not a binary page trace (bad size): " + path);
+            }
+            ByteBuffer header = ByteBuffer.allocate(BinaryTraceFormat.HEADER_BYTES).order(BinaryTraceFormat.ORDER);
+            while (header.hasRemaining()) {
+                if (channel.read(header, header.position()) < 0) break;
+            }
+            header.flip();
+            if (header.remaining() < BinaryTraceFormat.HEADER_BYTES || header.getInt() != BinaryTraceFormat.MAGIC) {
+                throw new IOException("Not a binary page trace (bad magic): " + path);
+            }
+            int version = header.getInt();
+            if (version != BinaryTraceFormat.VERSION) {
+                throw new IOException("Unsupported binary trace version " + version + ": " + path);
+            }
+            this.count = (size - BinaryTraceFormat.HEADER_BYTES) / BinaryTraceFormat.RECORD_BYTES;
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /** @return total number of references in the file */
+    public long size() {
+        return count;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return position < count;
+    }
+
+    @Override
+    public int nextPage() {
+        if (window == null || !window.hasRemaining()) {
+            mapWindow(position);
+        }
+        int page = window.getInt();
+        if (page < 0) {
+            throw new IllegalStateException("Negative page ID " + page + " at reference " + position + " in " + path);
+        }
+        position++;
+        return page;
+    }
+
+    @Override
+    public long position() {
+        return position;
+    }
+
+    /** Repositions the stream so that the next reference returned is {@code index}. */
+    public void seek(long index) {
+        if (index < 0 || index > count) {
+            throw new IllegalArgumentException("Reference index out of range: " + index);
+        }
+        position = index;
+        window = null;
+    }
+
+    private void mapWindow(long from) {
+        long offset = BinaryTraceFormat.HEADER_BYTES + from * BinaryTraceFormat.RECORD_BYTES;
+        long length = Math.min(WINDOW_BYTES, (count - from) * BinaryTraceFormat.RECORD_BYTES);
+        try {
+            window = channel.map(FileChannel.MapMode.READ_ONLY, offset, length);
+            window.order(BinaryTraceFormat.ORDER);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to map " + path, e);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
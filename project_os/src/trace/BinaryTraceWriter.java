@@ -0,0 +1,68 @@
+package trace;
+
+import engine.PageStream;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes page references in the binary trace format read by {@link BinaryTraceReader}.
+ */
+public class BinaryTraceWriter implements Closeable {
+
+    private static final int BUFFER_BYTES = 1 << 16;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private long count = 0;
+
+    public BinaryTraceWriter(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        this.buffer = ByteBuffer.allocateDirect(BUFFER_BYTES).order(BinaryTraceFormat.ORDER);
+        buffer.putInt(BinaryTraceFormat.MAGIC);
+        buffer.putInt(BinaryTraceFormat.VERSION);
+    }
+
+    public void write(int page) throws IOException {
+        if (page < 0) {
+            throw new IllegalArgumentException("Page IDs must be non-negative integers: " + page);
+        }
+        if (!buffer.hasRemaining()) flush();
+        buffer.putInt(page);
+        count++;
+    }
+
+    /** Drains a stream into the file. */
+    public void writeAll(PageStream pages) throws IOException {
+        while (pages.hasNext()) {
+            write(pages.nextPage());
+        }
+    }
+
+    /** @return number of references written so far */
+    public long count() {
+        return count;
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package trace;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Streaming parser for human-readable traces: page IDs separated by any mix of
+ * whitespace and commas, e.g. "7, 0 1,2".
+ * <p>
+ * Input is pulled through a reusable byte chunk and digits are accumulated by
+ * hand, so there is no regex, no per-token String and no {@code Integer.parseInt}.
+ * Validation follows the interactive input: only non-negative integers are
+ * accepted, and anything else fails with a {@link TraceFormatException} that
+ * names the line and column.
+ */
+public class TextTraceReader implements TraceSource {
+
+    private static final int CHUNK_BYTES = 1 << 16;
+
+    private final ReadableByteChannel channel;
+    private final byte[] chunk = new byte[CHUNK_BYTES];
+    private final ByteBuffer chunkBuffer = ByteBuffer.wrap(chunk);
+    private int pos = 0;
+    private int limit = 0;
+    private boolean eof = false;
+
+    private long line = 1;
+    private long lineStart = 0;   // absolute offset of the first byte of the current line
+    private long offset = 0;      // absolute offset of chunk[0]
+
+    private boolean ready = false; // nextValue holds a parsed, unconsumed page
+    private int nextValue;
+    private long position = 0;
+
+    public TextTraceReader(ReadableByteChannel channel) {
+        this.channel = channel;
+    }
+
+    public static TextTraceReader open(Path path) throws IOException {
+        return new TextTraceReader(FileChannel.open(path, StandardOpenOption.READ));
+    }
+
+    public static TextTraceReader of(InputStream in) {
+        return new TextTraceReader(Channels.newChannel(in));
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (!ready) ready = parseNext();
+        return ready;
+    }
+
+    @Override
+    public int nextPage() {
+        if (!hasNext()) {
+            throw new IllegalStateException("No more page references");
+        }
+        ready = false;
+        position++;
+        return nextValue;
+    }
+
+    @Override
+    public long position() {
+        return position;
+    }
+
+    /** Parses the next token into {@code nextValue}; returns false at end of input. */
+    private boolean parseNext() {
+        // 1. Skip separators
+        int b;
+        while (true) {
+            if (pos == limit && !fill()) return false;
+            b = chunk[pos];
+            if (b == ',' || b == ' ' || b == '\t' || b == '\r') {
+                pos++;
+            } else if (b == '\n') {
+                pos++;
+                line++;
+                lineStart = offset + pos;
+            } else {
+                break;
+            }
+        }
+
+        // 2. Accumulate digits
+        long tokenColumn = offset + pos - lineStart + 1;
+        long value = 0;
+        while (true) {
+            int digit = b - '0';
+            if (digit < 0 || digit > 9) {
+                throw invalid(b, offset + pos - lineStart + 1);
+            }
+            value = value * 10 + digit;
+            if (value > Integer.MAX_VALUE) {
+                throw new TraceFormatException("Page ID is too large", line, tokenColumn);
+            }
+            pos++;
+            if (pos == limit && !fill()) break;
+            b = chunk[pos];
+            if (b == ',' || b == ' ' || b == '\t' || b == '\r' || b == '\n') break;
+        }
+        nextValue = (int) value;
+        return true;
+    }
+
+    private TraceFormatException invalid(int b, long column) {
+        if (b == '-') {
+            return new TraceFormatException("Pages must be non-negative integers", line, column);
+        }
+        String shown = (b >= 0x20 && b < 0x7f) ? "'" + (char) b + "'" : String.format("byte 0x%02x", b & 0xff);
+        return new TraceFormatException("Invalid character " + shown + " in page ID", line, column);
+    }
+
+    /** Reads the next chunk; returns false once the input is exhausted. */
+    private boolean fill() {
+        if (eof) return false;
+        offset += limit;
+        pos = 0;
+        limit = 0;
+        chunkBuffer.clear();
+        try {
+            while (limit == 0) {
+                int n = channel.read(chunkBuffer);
+                if (n < 0) {
+                    eof = true;
+                    return false;
+                }
+                limit = chunkBuffer.position();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return true;
+    }
+
+    @Override
+    public void close() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package trace;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Opens trace files as streaming {@link TraceSource}s.
+ * <p>
+ * Binary traces are recognised by their magic number; anything else is parsed
+ * as a text trace. The name {@code "-"} means standard input (text).
+ */
+public final class TraceFiles {
+
+    public static final String STDIN = "-";
+
+    private TraceFiles() {
+    }
+
+    public static TraceSource open(String name) throws IOException {
+        if (STDIN.equals(name)) {
+            return TextTraceReader.of(System.in);
+        }
+        return open(Paths.get(name));
+    }
+
+    public static TraceSource open(Path path) throws IOException {
+        return isBinary(path) ? new BinaryTraceReader(path) : TextTraceReader.open(path);
+    }
+
+    /** Like {@link #open(String)} but reads text from the given stream for {@code "-"}. */
+    public static TraceSource open(String name, InputStream stdin) throws IOException {
+        return STDIN.equals(name) ? TextTraceReader.of(stdin) : open(Paths.get(name));
+    }
+
+    public static boolean isBinary(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer magic = ByteBuffer.allocate(4).order(BinaryTraceFormat.ORDER);
+            while (magic.hasRemaining() && channel.read(magic) >= 0) {
+                // keep reading until 4 bytes or end of file
+            }
+            magic.flip();
+            return magic.remaining() == 4 && magic.getInt() == BinaryTraceFormat.MAGIC;
+        }
+    }
+
+    /**
+     * Drains a source into an array. Only for traces that must be shared between
+     * workers and cannot be re-read (text or stdin); binary traces should be mapped.
+     */
+    public static int[] readAll(TraceSource source) {
+        int[] pages = new int[1024];
+        int n = 0;
+        while (source.hasNext()) {
+            if (n == pages.length) {
+                if (n == Integer.MAX_VALUE - 8) {
+                    throw new IllegalArgumentException("Trace too large to load; convert it to a binary trace first.");
+                }
+                pages = Arrays.copyOf(pages, (int) Math.min(Integer.MAX_VALUE - 8, 2L * n));
+            }
+            pages[n++] = source.nextPage();
+        }
+        return Arrays.copyOf(pages, n);
+    }
+}
@@ -0,0 +1,26 @@
+package trace;
+
+/**
+ * Thrown when a text trace contains something other than non-negative integers
+ * separated by spaces or commas. Carries the 1-based line and column of the problem.
+ */
+public class TraceFormatException extends IllegalArgumentException {
+    private static final long serialVersionUID = 1L;
+
+    private final long line;
+    private final long column;
+
+    public TraceFormatException(String message, long line, long column) {
+        super(message + " (line " + line + ", column " + column + ")");
+        this.line = line;
+        this.column = column;
+    }
+
+    public long getLine() {
+        return line;
+    }
+
+    public long getColumn() {
+        return column;
+    }
+}
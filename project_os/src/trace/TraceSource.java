@@ -0,0 +1,20 @@
+package trace;
+
+import engine.PageStream;
+
+import java.io.Closeable;
+
+/**
+ * A {@link PageStream} backed by an external resource such as a trace file.
+ * <p>
+ * {@link #close()} never throws a checked exception; I/O problems while reading
+ * surface as {@link java.io.UncheckedIOException} from the stream methods.
+ */
+public interface TraceSource extends PageStream, Closeable {
+
+    /** @return number of references consumed so far */
+    long position();
+
+    @Override
+    void close();
+}
@@ -0,0 +1,58 @@
+package utils;
+
+import java.nio.IntBuffer;
+import java.util.Arrays;
+
+/** {@link IntArray} over a plain {@code int[]}. */
+public final class HeapIntArray implements IntArray {
+
+    private final int[] values;
+
+    public HeapIntArray(long length) {
+        if (length < 0) throw new IllegalArgumentException("Length must not be negative.");
+        if (length > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Length " + length + " is too large for a heap array.");
+        }
+        this.values = new int[(int) length];
+    }
+
+    @Override
+    public int get(long index) {
+        return values[(int) index];
+    }
+
+    @Override
+    public void set(long index, int value) {
+        values[(int) index] = value;
+    }
+
+    @Override
+    public long length() {
+        return values.length;
+    }
+
+    @Override
+    public void fill(int value) {
+        Arrays.fill(values, value);
+    }
+
+    @Override
+    public void copyTo(long from, int[] dest, int offset, int count) {
+        System.arraycopy(values, (int) from, dest, offset, count);
+    }
+
+    @Override
+    public void writeTo(IntBuffer dest) {
+        dest.put(values);
+    }
+
+    @Override
+    public void readFrom(IntBuffer src) {
+        src.get(values);
+    }
+
+    @Override
+    public long byteSize() {
+        return (long) values.length * Integer.BYTES;
+    }
+}
@@ -0,0 +1,31 @@
+package utils;
+
+import java.nio.IntBuffer;
+
+/**
+ * Fixed-length int array with long indices, on the Java heap ({@link HeapIntArray})
+ * or off it ({@link OffHeapIntArray}). The slot-array policies keep their frames,
+ * links and bits in these, so each algorithm exists once whatever the storage.
+ */
+public interface IntArray {
+
+    int get(long index);
+
+    void set(long index, int value);
+
+    long length();
+
+    void fill(int value);
+
+    /** Copies {@code count} values starting at {@code from} into {@code dest}. */
+    void copyTo(long from, int[] dest, int offset, int count);
+
+    /** Bulk-copies the whole array into {@code dest}, e.g. for a checkpoint. */
+    void writeTo(IntBuffer dest);
+
+    /** Bulk-copies {@link #length()} values from {@code src} over the whole array. */
+    void readFrom(IntBuffer src);
+
+    /** @return bytes of memory held */
+    long byteSize();
+}
@@ -0,0 +1,145 @@
+package utils;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash map from non-negative int keys to non-negative int values.
+ * <p>
+ * Uses linear probing with backward-shift deletion, so there are no tombstones
+ * and no boxing: {@link #get(int)}, {@link #put(int, int)} and {@link #remove(int)}
+ * never allocate as long as the map stays within the size given at construction
+ * (the policies know their frame count up front). Beyond that the table doubles,
+ * which keeps the load factor at or below 0.5 up to 2^30 slots, the largest power
+ * of two an int array can hold; that table fills up to one free slot, so probes
+ * still terminate.
+ */
+public class IntIntMap implements IntIntTable {
+
+    private static final int FREE = -1;
+
+    private static final int MAX_CAPACITY = 1 << 30; // largest power-of-two int array
+
+    /** Most keys a map can hold: a full-size table less the free slot that ends every probe. */
+    public static final int MAX_SIZE = MAX_CAPACITY - 1;
+
+    private int[] keys;
+    private int[] values;
+    private int mask;
+    private int size;
+
+    /**
+     * @param expectedSize maximum number of keys that will be stored at once
+     * @throws IllegalArgumentException if that is more than {@link #MAX_SIZE}
+     */
+    public IntIntMap(int expectedSize) {
+        if (expectedSize > MAX_SIZE) {
+            throw new IllegalArgumentException("A map can hold at most " + MAX_SIZE + " keys, not " + expectedSize + ".");
+        }
+        // In long: the rounded-up capacity overflows an int past 2^29 keys
+        long wanted = Long.highestOneBit(Math.max(4L, expectedSize) * 2 - 1) << 1;
+        int capacity = (int) Math.min(wanted, MAX_CAPACITY);
+        this.keys = new int[capacity];
+        this.values = new int[capacity];
+        this.mask = capacity - 1;
+        Arrays.fill(keys, FREE);
+    }
+
+    private int slotOf(int key) {
+        int h = key * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    @Override
+    public int get(int key) {
+        int i = slotOf(key);
+        while (true) {
+            int k = keys[i];
+            if (k == key) return values[i];
+            if (k == FREE) return MISSING;
+            i = (i + 1) & mask;
+        }
+    }
+
+    @Override
+    public boolean containsKey(int key) {
+        return get(key) != MISSING;
+    }
+
+    @Override
+    public void put(int key, int value) {
+        int i = slotOf(key);
+        while (true) {
+            int k = keys[i];
+            if (k == key) {
+                values[i] = value;
+                return;
+            }
+            if (k == FREE) {
+                if (size == MAX_SIZE) throw new IllegalStateException("Map is full (" + MAX_SIZE + " keys).");
+                keys[i] = key;
+                values[i] = value;
+                if (++size > (mask + 1) >>> 1 && mask + 1 < MAX_CAPACITY) grow();
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+    }
+
+    @Override
+    public int remove(int key) {
+        int i = slotOf(key);
+        while (true) {
+            int k = keys[i];
+            if (k == FREE) return MISSING;
+            if (k == key) break;
+            i = (i + 1) & mask;
+        }
+        int old = values[i];
+        size--;
+
+        // Backward-shift: pull later entries of the same probe run into the gap
+        int gap = i;
+        int j = i;
+        while (true) {
+            j = (j + 1) & mask;
+            int k = keys[j];
+            if (k == FREE) break;
+            int home = slotOf(k);
+            // Move the entry if its home is not cyclically within (gap, j]
+            if (((j - home) & mask) >= ((j - gap) & mask)) {
+                keys[gap] = k;
+                values[gap] = values[j];
+                gap = j;
+            }
+        }
+        keys[gap] = FREE;
+        return old;
+    }
+
+    private void grow() {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new int[oldKeys.length << 1];
+        values = new int[oldValues.length << 1];
+        mask = keys.length - 1;
+        Arrays.fill(keys, FREE);
+        for (int j = 0; j < oldKeys.length; j++) {
+            int k = oldKeys[j];
+            if (k == FREE) continue;
+            int i = slotOf(k);
+            while (keys[i] != FREE) i = (i + 1) & mask;
+            keys[i] = k;
+            values[i] = oldValues[j];
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(keys, FREE);
+        size = 0;
+    }
+}
@@ -0,0 +1,22 @@
+package utils;
+
+/**
+ * Map from non-negative int keys to non-negative int values, on the Java heap
+ * ({@link IntIntMap}) or off it ({@link OffHeapIntIntMap}).
+ */
+public interface IntIntTable {
+
+    /** Returned by {@link #get(int)} and {@link #remove(int)} when the key is absent. */
+    int MISSING = -1;
+
+    int get(int key);
+
+    boolean containsKey(int key);
+
+    void put(int key, int value);
+
+    /** @return the removed value, or {@link #MISSING} */
+    int remove(int key);
+
+    void clear();
+}
@@ -0,0 +1,105 @@
+package utils;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+
+/**
+ * Fixed-length int array stored outside the Java heap in direct buffers.
+ * <p>
+ * A single direct buffer is limited to 2 GB, so the array is split into chunks of
+ * 2^28 ints (1 GB); indices are longs. The memory is zeroed on allocation and
+ * released when the array becomes unreachable; the total is capped by
+ * {@code -XX:MaxDirectMemorySize} (by default the maximum heap size), not by the
+ * heap itself, and the garbage collector never scans or copies it.
+ */
+public final class OffHeapIntArray implements IntArray {
+
+    private static final int CHUNK_SHIFT = 28;
+    private static final long CHUNK_MASK = (1L << CHUNK_SHIFT) - 1;
+
+    private final IntBuffer[] chunks;
+    private final long length;
+
+    public OffHeapIntArray(long length) {
+        if (length < 0) throw new IllegalArgumentException("Length must not be negative.");
+        this.length = length;
+        int count = (int) ((length + CHUNK_MASK) >>> CHUNK_SHIFT);
+        this.chunks = new IntBuffer[count];
+        try {
+            for (int c = 0; c < count; c++) {
+                long ints = Math.min(1L << CHUNK_SHIFT, length - ((long) c << CHUNK_SHIFT));
+                chunks[c] = ByteBuffer.allocateDirect((int) (ints * Integer.BYTES))
+                        .order(ByteOrder.nativeOrder())
+                        .asIntBuffer();
+            }
+        } catch (OutOfMemoryError e) {
+            // The JDK's message gives the limit in bytes but not the flag that sets it
+            OutOfMemoryError named = new OutOfMemoryError("Cannot allocate " + (length * Integer.BYTES >> 20)
+                    + " MB off the heap; raise the direct memory limit with -XX:MaxDirectMemorySize ("
+                    + e.getMessage() + ")");
+            named.initCause(e);
+            throw named;
+        }
+    }
+
+    @Override
+    public int get(long index) {
+        return chunks[(int) (index >>> CHUNK_SHIFT)].get((int) (index & CHUNK_MASK));
+    }
+
+    @Override
+    public void set(long index, int value) {
+        chunks[(int) (index >>> CHUNK_SHIFT)].put((int) (index & CHUNK_MASK), value);
+    }
+
+    @Override
+    public void fill(int value) {
+        for (IntBuffer chunk : chunks) {
+            for (int i = 0, n = chunk.capacity(); i < n; i++) {
+                chunk.put(i, value);
+            }
+        }
+    }
+
+    @Override
+    public long length() {
+        return length;
+    }
+
+    @Override
+    public void copyTo(long from, int[] dest, int offset, int count) {
+        while (count > 0) {
+            IntBuffer chunk = chunks[(int) (from >>> CHUNK_SHIFT)];
+            int at = (int) (from & CHUNK_MASK);
+            int n = Math.min(count, chunk.capacity() - at);
+            chunk.get(at, dest, offset, n);
+            from += n;
+            offset += n;
+            count -= n;
+        }
+    }
+
+    @Override
+    public void writeTo(IntBuffer dest) {
+        for (IntBuffer chunk : chunks) {
+            dest.put(chunk.duplicate().clear());
+        }
+    }
+
+    @Override
+    public void readFrom(IntBuffer src) {
+        for (IntBuffer chunk : chunks) {
+            IntBuffer part = src.duplicate();
+            part.limit(part.position() + chunk.capacity());
+            chunk.duplicate().clear().put(part);
+            src.position(src.position() + chunk.capacity());
+        }
+    }
+
+    /** @return bytes of native memory held */
+    @Override
+    public long byteSize() {
+        return length * Integer.BYTES;
+    }
+}
@@ -0,0 +1,118 @@
+package utils;
+
+/**
+ * {@link IntIntMap} with its table in an {@link OffHeapIntArray}: same linear
+ * probing and backward-shift deletion, but keys and values are interleaved so a
+ * probe touches one cache line, and the table never grows. The policies know their
+ * frame count up front, and doubling a multi-GB table would need both copies in
+ * memory at once, so putting more keys than the map was sized for is an error.
+ */
+public final class OffHeapIntIntMap implements IntIntTable {
+
+    private static final int FREE = -1;
+
+    private final OffHeapIntArray table; // [key, value] pairs
+    private final long mask;
+    private final long maxSize;
+    private long size;
+
+    /**
+     * @param expectedSize maximum number of keys that will be stored at once
+     */
+    public OffHeapIntIntMap(int expectedSize) {
+        long capacity = Long.highestOneBit(Math.max(4L, expectedSize) * 2 - 1) << 1;
+        this.table = new OffHeapIntArray(capacity * 2);
+        this.mask = capacity - 1;
+        this.maxSize = capacity >>> 1;
+        table.fill(FREE);
+    }
+
+    private long slotOf(int key) {
+        int h = key * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    @Override
+    public int get(int key) {
+        long i = slotOf(key);
+        while (true) {
+            int k = table.get(i << 1);
+            if (k == key) return table.get((i << 1) + 1);
+            if (k == FREE) return MISSING;
+            i = (i + 1) & mask;
+        }
+    }
+
+    @Override
+    public boolean containsKey(int key) {
+        return get(key) != MISSING;
+    }
+
+    @Override
+    public void put(int key, int value) {
+        long i = slotOf(key);
+        while (true) {
+            int k = table.get(i << 1);
+            if (k == key) {
+                table.set((i << 1) + 1, value);
+                return;
+            }
+            if (k == FREE) {
+                if (size == maxSize) {
+                    throw new IllegalStateException("Off-heap map is full (" + maxSize + " keys).");
+                }
+                table.set(i << 1, key);
+                table.set((i << 1) + 1, value);
+                size++;
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+    }
+
+    @Override
+    public int remove(int key) {
+        long i = slotOf(key);
+        while (true) {
+            int k = table.get(i << 1);
+            if (k == FREE) return MISSING;
+            if (k == key) break;
+            i = (i + 1) & mask;
+        }
+        int old = table.get((i << 1) + 1);
+        size--;
+
+        // Backward-shift: pull later entries of the same probe run into the gap
+        long gap = i;
+        long j = i;
+        while (true) {
+            j = (j + 1) & mask;
+            int k = table.get(j << 1);
+            if (k == FREE) break;
+            long home = slotOf(k);
+            // Move the entry if its home is not cyclically within (gap, j]
+            if (((j - home) & mask) >= ((j - gap) & mask)) {
+                table.set(gap << 1, k);
+                table.set((gap << 1) + 1, table.get((j << 1) + 1));
+                gap = j;
+            }
+        }
+        table.set(gap << 1, FREE);
+        return old;
+    }
+
+    public long size() {
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        table.fill(FREE);
+        size = 0;
+    }
+
+    /** @return bytes of native memory held */
+    public long byteSize() {
+        return table.byteSize();
+    }
+}
@@ -0,0 +1,38 @@
+package utils;
+
+/**
+ * Where a policy keeps its frame tables, links and page index. The algorithm is the
+ * same either way; {@link #OFF_HEAP} only trades a little speed for keeping very
+ * large memories out of the Java heap and away from the garbage collector.
+ */
+public enum Storage {
+    HEAP {
+        @Override
+        public IntArray ints(long length) {
+            return new HeapIntArray(length);
+        }
+
+        @Override
+        public IntIntTable table(int expectedSize) {
+            return new IntIntMap(expectedSize);
+        }
+    },
+    /** Direct buffers, capped by {@code -XX:MaxDirectMemorySize}. */
+    OFF_HEAP {
+        @Override
+        public IntArray ints(long length) {
+            return new OffHeapIntArray(length);
+        }
+
+        @Override
+        public IntIntTable table(int expectedSize) {
+            return new OffHeapIntIntMap(expectedSize);
+        }
+    };
+
+    /** @return a zeroed array of {@code length} ints */
+    public abstract IntArray ints(long length);
+
+    /** @return an empty map sized for {@code expectedSize} keys */
+    public abstract IntIntTable table(int expectedSize);
+}
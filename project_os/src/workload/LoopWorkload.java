@@ -0,0 +1,23 @@
+package workload;
+
+/**
+ * Cyclic working set: {@code 0, 1, ..., size - 1, 0, 1, ...}. With fewer frames
+ * than {@code size}, LRU and FIFO fault on every reference.
+ */
+public class LoopWorkload extends Workload {
+    private final int size;
+    private int next = 0;
+
+    public LoopWorkload(int size, long length) {
+        super(length);
+        requirePositive(size, "Working set size");
+        this.size = size;
+    }
+
+    @Override
+    protected int generate() {
+        int page = next;
+        next = (next + 1 == size) ? 0 : next + 1;
+        return page;
+    }
+}
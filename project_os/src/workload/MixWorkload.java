@@ -0,0 +1,45 @@
+package workload;
+
+import engine.PageStream;
+
+import java.util.SplittableRandom;
+
+/**
+ * Interleaves several streams: each reference is taken from component {@code i}
+ * with probability proportional to {@code weights[i]}. Components should be
+ * unbounded (or at least as long as the mix); an exhausted component ends the mix.
+ */
+public class MixWorkload extends Workload {
+    private final PageStream[] parts;
+    private final double[] cumulative;
+    private final SplittableRandom random;
+
+    public MixWorkload(PageStream[] parts, double[] weights, long length, long seed) {
+        super(length);
+        if (parts.length == 0 || parts.length != weights.length) {
+            throw new IllegalArgumentException("A mix needs one weight per component.");
+        }
+        this.parts = parts.clone();
+        this.cumulative = new double[weights.length];
+        double total = 0;
+        for (int i = 0; i < weights.length; i++) {
+            if (!(weights[i] > 0)) throw new IllegalArgumentException("Mix weights must be greater than 0.");
+            total += weights[i];
+            cumulative[i] = total;
+        }
+        for (int i = 0; i < cumulative.length; i++) cumulative[i] /= total;
+        this.random = new SplittableRandom(seed);
+    }
+
+    @Override
+    protected int generate() {
+        double u = random.nextDouble();
+        int i = 0;
+        while (i < cumulative.length - 1 && u >= cumulative[i]) i++;
+        PageStream part = parts[i];
+        if (!part.hasNext()) {
+            throw new IllegalStateException("Mix component " + i + " ran out of references.");
+        }
+        return part.nextPage();
+    }
+}
@@ -0,0 +1,42 @@
+package workload;
+
+import java.util.SplittableRandom;
+
+/**
+ * Phase-shifting working sets: each phase draws uniformly from a window of
+ * {@code workingSet} pages, and every {@code phaseLength} references the window
+ * slides by {@code shift} pages. A shift smaller than the window keeps part of
+ * the old working set hot across the change.
+ */
+public class PhaseWorkload extends Workload {
+    private final int workingSet;
+    private final long phaseLength;
+    private final int shift;
+    private final SplittableRandom random;
+
+    private long left;   // references left in the current phase
+    private int base = 0;
+
+    public PhaseWorkload(int workingSet, long phaseLength, int shift, long length, long seed) {
+        super(length);
+        requirePositive(workingSet, "Working set size");
+        requirePositive(phaseLength, "Phase length");
+        if (shift < 0) throw new IllegalArgumentException("Phase shift cannot be negative.");
+        this.workingSet = workingSet;
+        this.phaseLength = phaseLength;
+        this.shift = shift;
+        this.random = new SplittableRandom(seed);
+        this.left = phaseLength;
+    }
+
+    @Override
+    protected int generate() {
+        if (left == 0) {
+            left = phaseLength;
+            // Wrap before the window would run past the largest page ID
+            base = (base > Integer.MAX_VALUE - workingSet - shift) ? 0 : base + shift;
+        }
+        left--;
+        return base + random.nextInt(workingSet);
+    }
+}
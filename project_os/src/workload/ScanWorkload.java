@@ -0,0 +1,25 @@
+package workload;
+
+/**
+ * Sequential scan: {@code first, first + 1, first + 2, ...}. No page is ever
+ * reused (until the IDs wrap at {@code Integer.MAX_VALUE}), which flushes any
+ * recency-based cache.
+ */
+public class ScanWorkload extends Workload {
+    private final int first;
+    private int next;
+
+    public ScanWorkload(int first, long length) {
+        super(length);
+        if (first < 0) throw new IllegalArgumentException("Page IDs must be non-negative integers.");
+        this.first = first;
+        this.next = first;
+    }
+
+    @Override
+    protected int generate() {
+        int page = next;
+        next = (next == Integer.MAX_VALUE) ? first : next + 1;
+        return page;
+    }
+}
@@ -0,0 +1,21 @@
+package workload;
+
+import java.util.SplittableRandom;
+
+/** Every page in {@code [0, pages)} is equally likely. */
+public class UniformWorkload extends Workload {
+    private final int pages;
+    private final SplittableRandom random;
+
+    public UniformWorkload(int pages, long length, long seed) {
+        super(length);
+        requirePositive(pages, "Number of pages");
+        this.pages = pages;
+        this.random = new SplittableRandom(seed);
+    }
+
+    @Override
+    protected int generate() {
+        return random.nextInt(pages);
+    }
+}
@@ -0,0 +1,59 @@
+package workload;
+
+import trace.TraceSource;
+
+/**
+ * Base class for synthetic reference streams.
+ * <p>
+ * A workload is a {@link TraceSource}, so it can be used anywhere a trace file can.
+ * <p>
+ * Pages are produced lazily, one per {@link #nextPage()}, so a workload of any
+ * length never materialises an array. Generators are seeded, and two instances
+ * built with the same arguments produce the same stream.
+ */
+public abstract class Workload implements TraceSource {
+
+    /** Length to pass for a stream that never ends. */
+    public static final long UNBOUNDED = Long.MAX_VALUE;
+
+    private final long length;
+    private long produced = 0;
+
+    protected Workload(long length) {
+        if (length < 0) throw new IllegalArgumentException("Workload length cannot be negative.");
+        this.length = length;
+    }
+
+    @Override
+    public final boolean hasNext() {
+        return produced < length;
+    }
+
+    @Override
+    public final int nextPage() {
+        produced++;
+        return generate();
+    }
+
+    /** @return number of references produced so far */
+    @Override
+    public long position() {
+        return produced;
+    }
+
+    /** Generators hold no external resources. */
+    @Override
+    public void close() {
+    }
+
+    public long length() {
+        return length;
+    }
+
+    /** Produces the next page ID; called exactly once per reference. */
+    protected abstract int generate();
+
+    static void requirePositive(long value, String what) {
+        if (value <= 0) throw new IllegalArgumentException(what + " must be greater than 0.");
+    }
+}
@@ -0,0 +1,116 @@
+package workload;
+
+import engine.PageStream;
+
+/**
+ * Text description of a synthetic workload, used by the command line.
+ * <pre>
+ *   uniform:N                 uniform over N pages
+ *   zipf:N[:alpha]            Zipf(alpha) over N pages (alpha defaults to 1.0)
+ *   scan[:first]              sequential scan starting at page 'first' (default 0)
+ *   loop:N                    cyclic working set of N pages
+ *   phase:N:len[:shift]       working set of N pages sliding by 'shift' (default N) every 'len' references
+ *   mix:W*SPEC+W*SPEC...      weighted mix of the above, e.g. mix:0.9*zipf:1000+0.1*scan:100000
+ * </pre>
+ * A spec plus a length and a seed describes one exact stream; {@link #open()}
+ * can be called any number of times (e.g. once per sweep worker) and every
+ * stream it returns is identical.
+ */
+public class WorkloadSpec {
+    private final String spec;
+    private final long length;
+    private final long seed;
+
+    private WorkloadSpec(String spec, long length, long seed) {
+        this.spec = spec;
+        this.length = length;
+        this.seed = seed;
+    }
+
+    /** Parses and validates a spec. */
+    public static WorkloadSpec parse(String spec, long length, long seed) {
+        WorkloadSpec parsed = new WorkloadSpec(spec, length, seed);
+        parsed.open(); // fail fast on bad specs
+        return parsed;
+    }
+
+    public Workload open() {
+        if (spec.startsWith("mix:")) {
+            String[] components = spec.substring("mix:".length()).split("\\+");
+            PageStream[] parts = new PageStream[components.length];
+            double[] weights = new double[components.length];
+            for (int i = 0; i < components.length; i++) {
+                String[] weightAndSpec = components[i].split("\\*", 2);
+                if (weightAndSpec.length != 2) {
+                    throw new IllegalArgumentException("Mix component '" + components[i] + "' must look like W*SPEC.");
+                }
+                weights[i] = parseDouble(weightAndSpec[0], "mix weight");
+                parts[i] = build(weightAndSpec[1], Workload.UNBOUNDED, seed + i + 1);
+            }
+            return new MixWorkload(parts, weights, length, seed);
+        }
+        return build(spec, length, seed);
+    }
+
+    private static Workload build(String spec, long length, long seed) {
+        String[] f = spec.split(":");
+        switch (f[0]) {
+            case "uniform":
+                expect(f, 2, 2, spec);
+                return new UniformWorkload(parseInt(f[1], "number of pages"), length, seed);
+            case "zipf":
+                expect(f, 2, 3, spec);
+                double alpha = f.length > 2 ? parseDouble(f[2], "Zipf exponent") : 1.0;
+                return new ZipfWorkload(parseInt(f[1], "number of pages"), alpha, length, seed);
+            case "scan":
+                expect(f, 1, 2, spec);
+                return new ScanWorkload(f.length > 1 ? parseInt(f[1], "first page") : 0, length);
+            case "loop":
+                expect(f, 2, 2, spec);
+                return new LoopWorkload(parseInt(f[1], "working set size"), length);
+            case "phase":
+                expect(f, 3, 4, spec);
+                int workingSet = parseInt(f[1], "working set size");
+                long phaseLength = parseLong(f[2], "phase length");
+                int shift = f.length > 3 ? parseInt(f[3], "phase shift") : workingSet;
+                return new PhaseWorkload(workingSet, phaseLength, shift, length, seed);
+            default:
+                throw new IllegalArgumentException("Unknown workload '" + f[0] + "'.");
+        }
+    }
+
+    private static void expect(String[] fields, int min, int max, String spec) {
+        if (fields.length < min || fields.length > max) {
+            throw new IllegalArgumentException("Wrong number of parameters in workload '" + spec + "'.");
+        }
+    }
+
+    private static int parseInt(String text, String what) {
+        try {
+            return Integer.parseInt(text);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + what + " '" + text + "'.");
+        }
+    }
+
+    private static long parseLong(String text, String what) {
+        try {
+            return Long.parseLong(text);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + what + " '" + text + "'.");
+        }
+    }
+
+    private static double parseDouble(String text, String what) {
+        try {
+            return Double.parseDouble(text);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + what + " '" + text + "'.");
+        }
+    }
+
+    @Override
+    public String toString() {
+        return spec + " (length=" + length + ", seed=" + seed + ")";
+    }
+}
@@ -0,0 +1,74 @@
+package workload;
+
+import java.util.SplittableRandom;
+
+/**
+ * Zipf(α) popularity over {@code [0, pages)}: page {@code k} is referenced with
+ * probability proportional to {@code 1 / (k + 1)^α}, so low IDs are hot.
+ * <p>
+ * Uses rejection-inversion sampling (Hörmann and Derflinger), which needs O(1)
+ * memory and expected O(1) time per sample, so the page universe can be as large
+ * as an int allows without a CDF table.
+ */
+public class ZipfWorkload extends Workload {
+    private final int pages;
+    private final double exponent;
+    private final SplittableRandom random;
+
+    private final double hIntegralX1;
+    private final double hIntegralPages;
+    private final double s;
+
+    public ZipfWorkload(int pages, double exponent, long length, long seed) {
+        super(length);
+        requirePositive(pages, "Number of pages");
+        if (!(exponent > 0)) throw new IllegalArgumentException("Zipf exponent must be greater than 0.");
+        this.pages = pages;
+        this.exponent = exponent;
+        this.random = new SplittableRandom(seed);
+
+        this.hIntegralX1 = hIntegral(1.5) - 1.0;
+        this.hIntegralPages = hIntegral(pages + 0.5);
+        this.s = 2 - hIntegralInverse(hIntegral(2.5) - h(2));
+    }
+
+    @Override
+    protected int generate() {
+        while (true) {
+            double u = hIntegralPages + random.nextDouble() * (hIntegralX1 - hIntegralPages);
+            double x = hIntegralInverse(u);
+            int k = (int) (x + 0.5);
+            if (k < 1) k = 1;
+            else if (k > pages) k = pages;
+
+            if (k - x <= s || u >= hIntegral(k + 0.5) - h(k)) {
+                return k - 1;
+            }
+        }
+    }
+
+    private double hIntegral(double x) {
+        double logX = Math.log(x);
+        return helper2((1 - exponent) * logX) * logX;
+    }
+
+    private double h(double x) {
+        return Math.exp(-exponent * Math.log(x));
+    }
+
+    private double hIntegralInverse(double x) {
+        double t = x * (1 - exponent);
+        if (t < -1) t = -1;
+        return Math.exp(helper1(t) * x);
+    }
+
+    /** log(1 + x) / x, accurate near 0. */
+    private static double helper1(double x) {
+        return Math.abs(x) > 1e-8 ? Math.log1p(x) / x : 1 - x * (0.5 - x * (1.0 / 3 - 0.25 * x));
+    }
+
+    /** (exp(x) - 1) / x, accurate near 0. */
+    private static double helper2(double x) {
+        return Math.abs(x) > 1e-8 ? Math.expm1(x) / x : 1 + x * 0.5 * (1 + x / 3 * (1 + 0.25 * x));
+    }
+}
@@ -0,0 +1,49 @@
+package ARC;
+
+import engine.TestTraces;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ARCPolicyTest {
+
+    @Test
+    void ghostHitsMoveTheTarget() {
+        ARCPolicy arc = new ARCPolicy(2);
+        // 1 and 2 reach T2; the one-shot 3, 4 and 5 then cycle through T1, pushing 1 to B2 and 4 to B1
+        for (int page : new int[] {1, 1, 2, 2, 3, 4, 5}) arc.access(page);
+        assertEquals(0, arc.getTarget());
+        assertArrayEquals(new int[] {5, 2}, TestTraces.frames(arc));
+
+        // B1 hit: T1 was too small, so p grows by |B2| / |B1| = 1 and T2's LRU page (2) goes to B2
+        assertFalse(arc.access(4));
+        assertEquals(1, arc.getTarget());
+        assertArrayEquals(new int[] {5, 4}, TestTraces.frames(arc));
+
+        // B2 hit: now T2 was too small, so p shrinks back and T1 gives up 5
+        assertFalse(arc.access(2));
+        assertEquals(0, arc.getTarget());
+        assertArrayEquals(new int[] {2, 4}, TestTraces.frames(arc));
+    }
+
+    @Test
+    void aScanLeavesTheFrequentPagesAlone() {
+        int frames = 100;
+        ARCPolicy arc = new ARCPolicy(frames);
+        for (int round = 0; round < 2; round++) {
+            for (int page = 0; page < 50; page++) arc.access(page);
+        }
+        // A one-shot scan ten times the cache size only ever replaces its own pages in T1
+        for (int page = 1000; page < 2000; page++) arc.access(page);
+        assertEquals(0, arc.getTarget());
+        for (int page = 0; page < 50; page++) assertTrue(arc.access(page), "hot page " + page);
+
+        // Re-reading the scan's recent past hits B1: with B2 empty each hit grows T1's target by one
+        for (int page = 1900; page < 1950; page++) assertFalse(arc.access(page));
+        assertEquals(50, arc.getTarget());
+        for (int page = 1900; page < 1950; page++) assertTrue(arc.access(page), "scan page " + page);
+    }
+}
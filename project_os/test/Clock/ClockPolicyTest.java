@@ -0,0 +1,82 @@
+package Clock;
+
+import engine.TestTraces;
+import org.junit.jupiter.api.Test;
+import utils.Storage;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ClockPolicyTest {
+
+    /** The original ClockManager: linear hit scan, one frame per hand step. */
+    private static final class Baseline {
+        final int[] pageIds;
+        final int[] referenceBits;
+        int pointer = 0;
+        int faults = 0;
+
+        Baseline(int capacity) {
+            pageIds = new int[capacity];
+            referenceBits = new int[capacity];
+            Arrays.fill(pageIds, -1);
+        }
+
+        void access(int page) {
+            for (int i = 0; i < pageIds.length; i++) {
+                if (pageIds[i] == page) {
+                    referenceBits[i] = 1;
+                    return;
+                }
+            }
+            faults++;
+            while (true) {
+                if (referenceBits[pointer] == 0) {
+                    pageIds[pointer] = page;
+                    referenceBits[pointer] = 1;
+                    pointer = (pointer + 1) % pageIds.length;
+                    return;
+                }
+                referenceBits[pointer] = 0;
+                pointer = (pointer + 1) % pageIds.length;
+            }
+        }
+
+        int[] frames() {
+            return Arrays.stream(pageIds).filter(page -> page != -1).toArray();
+        }
+    }
+
+    @Test
+    void matchesTheOriginalSimulation() {
+        // Word edges of the packed reference bits (32 per int) and small memories
+        for (int frames : new int[] {1, 2, 3, 31, 32, 33, 63, 64, 65, 97}) {
+            for (long seed = 1; seed <= 3; seed++) {
+                for (int[] pages : TestTraces.mixed(frames, seed)) {
+                    Baseline baseline = new Baseline(frames);
+                    for (int page : pages) baseline.access(page);
+                    for (Storage storage : Storage.values()) {
+                        ClockPolicy policy = new ClockPolicy(frames, storage);
+                        String where = frames + " frames, seed " + seed + ", " + storage;
+                        assertEquals(baseline.faults, TestTraces.faults(policy, pages), where);
+                        assertArrayEquals(baseline.frames(), TestTraces.frames(policy), where);
+                        assertEquals(baseline.pointer, policy.getHand(), where);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void managerMatchesTheEngine() {
+        for (int frames : new int[] {1, 63, 64, 65}) {
+            for (int[] pages : TestTraces.mixed(frames, 5)) {
+                ClockManager manager = new ClockManager(frames);
+                ClockPolicy policy = new ClockPolicy(frames);
+                assertEquals(TestTraces.faults(policy, pages), TestTraces.faults(manager, pages));
+            }
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package Clock;
+
+import engine.TestTraces;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WSClockPolicyTest {
+
+    @Test
+    void evictsOutsideTheWindowOrElseTheOldest() {
+        WSClockPolicy policy = new WSClockPolicy(3, 2);
+        for (int page : new int[] {1, 2, 3}) assertFalse(policy.access(page));
+
+        // At time 4 every page is referenced: the sweep clears them all and takes the first, 1
+        assertFalse(policy.access(4));
+        assertArrayEquals(new int[] {4, 2, 3}, TestTraces.frames(policy));
+        assertEquals(1, policy.getHand());
+
+        // At time 5, 2 was last used at 4, inside the window: still the oldest, so it goes
+        assertFalse(policy.access(5));
+        assertArrayEquals(new int[] {4, 5, 3}, TestTraces.frames(policy));
+        assertEquals(2, policy.getHand());
+
+        // At time 8, 3 has gone unused since 4, outside the window, and is taken at once
+        assertTrue(policy.access(4));
+        assertTrue(policy.access(5));
+        assertFalse(policy.access(6));
+        assertArrayEquals(new int[] {4, 5, 6}, TestTraces.frames(policy));
+        assertEquals(0, policy.getHand());
+
+        // At time 9 all three are referenced again; the fallback takes 4 and every last use becomes 9
+        assertFalse(policy.access(7));
+        assertArrayEquals(new int[] {7, 5, 6}, TestTraces.frames(policy));
+
+        // At time 13 the hand skips 5 (referenced at 10) and takes 6 (unused since 9)
+        assertTrue(policy.access(5));
+        assertTrue(policy.access(7));
+        assertTrue(policy.access(7));
+        assertFalse(policy.access(8));
+        assertArrayEquals(new int[] {7, 5, 8}, TestTraces.frames(policy));
+        assertEquals(0, policy.getHand());
+    }
+
+    @Test
+    void controllerShrinksTheResidentSet() {
+        // Windows of 10 references; fewer than 1 fault in 10 gives a frame back
+        FaultFrequencyController controller = new FaultFrequencyController(1, 8, 10, 0.1, 0.5);
+        WSClockPolicy policy = new WSClockPolicy(8, 16, controller);
+        assertEquals(4, controller.getTarget());
+
+        // 4 faults in the first window keep the allowance; three quiet windows bring it to 1
+        for (int page : new int[] {1, 2, 3, 4}) assertFalse(policy.access(page));
+        for (int i = 0; i < 36; i++) assertTrue(policy.access(1));
+        assertEquals(1, controller.getTarget());
+        assertEquals(4, policy.getResidentCount());
+
+        // Pages are only taken away on a fault, which then trims down to the allowance
+        assertFalse(policy.access(5));
+        assertEquals(1, policy.getResidentCount());
+        assertArrayEquals(new int[] {5}, TestTraces.frames(policy));
+        assertEquals("WSClock+PFF", policy.getName());
+    }
+}
@@ -0,0 +1,75 @@
+package FIFO;
+
+import engine.TestTraces;
+import org.junit.jupiter.api.Test;
+import utils.Storage;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class FIFOPolicyTest {
+
+    /** The original queue-and-page-table simulateFIFO, without the printing. */
+    private static final class Baseline {
+        final int[] frames;
+        final Map<Integer, Integer> frameOf = new HashMap<>();
+        final Queue<Integer> fifoQueue = new ArrayDeque<>();
+        int faults = 0;
+
+        Baseline(int capacity) {
+            frames = new int[capacity];
+            Arrays.fill(frames, -1);
+        }
+
+        void access(int page) {
+            if (frameOf.containsKey(page)) return;
+            faults++;
+            int frame;
+            if (fifoQueue.size() < frames.length) {
+                frame = 0;
+                while (frames[frame] != -1) frame++;
+            } else {
+                frame = frameOf.remove(fifoQueue.poll());
+            }
+            frames[frame] = page;
+            frameOf.put(page, frame);
+            fifoQueue.add(page);
+        }
+
+        int[] frames() {
+            return Arrays.stream(frames).filter(page -> page != -1).toArray();
+        }
+    }
+
+    @Test
+    void matchesTheOriginalSimulation() {
+        for (int frames : new int[] {1, 2, 3, 7, 16, 64}) {
+            for (long seed = 1; seed <= 3; seed++) {
+                for (int[] pages : TestTraces.mixed(frames, seed)) {
+                    Baseline baseline = new Baseline(frames);
+                    for (int page : pages) baseline.access(page);
+                    for (Storage storage : Storage.values()) {
+                        FIFOPolicy policy = new FIFOPolicy(frames, storage);
+                        String where = frames + " frames, seed " + seed + ", " + storage;
+                        assertEquals(baseline.faults, TestTraces.faults(policy, pages), where);
+                        assertArrayEquals(baseline.frames(), TestTraces.frames(policy), where);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void beladysAnomaly() {
+        // The textbook string: FIFO faults more with four frames than with three
+        int[] pages = {1, 2, 3, 4, 1, 2, 5, 1, 2, 3, 4, 5};
+        assertEquals(9, TestTraces.faults(new FIFOPolicy(3), pages));
+        assertEquals(10, TestTraces.faults(new FIFOPolicy(4), pages));
+    }
+}
@@ -0,0 +1,92 @@
+package LFU;
+
+import engine.TestTraces;
+import org.junit.jupiter.api.Test;
+import utils.Storage;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LFUPolicyTest {
+
+    /** The original LinkedHashSet simulation of LFUPageReplacement, without the printing. */
+    private static final class Baseline {
+        final LinkedHashSet<Integer> memory = new LinkedHashSet<>();
+        final Map<Integer, Integer> freq = new HashMap<>();
+        final int capacity;
+        int faults = 0;
+
+        Baseline(int capacity) {
+            this.capacity = capacity;
+        }
+
+        void access(int page) {
+            if (memory.contains(page)) {
+                freq.put(page, freq.get(page) + 1);
+                memory.remove(page);
+                memory.add(page);
+                return;
+            }
+            faults++;
+            if (memory.size() == capacity) {
+                int victim = -1;
+                int minFreq = Integer.MAX_VALUE;
+                for (int resident : memory) {
+                    if (freq.get(resident) < minFreq) {
+                        minFreq = freq.get(resident);
+                        victim = resident;
+                    }
+                }
+                memory.remove(victim);
+                freq.remove(victim);
+            }
+            memory.add(page);
+            freq.put(page, 1);
+        }
+    }
+
+    private static int[] sorted(int[] pages) {
+        int[] copy = pages.clone();
+        Arrays.sort(copy);
+        return copy;
+    }
+
+    @Test
+    void matchesTheOriginalSimulation() {
+        for (int frames : new int[] {1, 2, 3, 7, 16, 64}) {
+            for (long seed = 1; seed <= 3; seed++) {
+                for (int[] pages : TestTraces.mixed(frames, seed)) {
+                    Baseline baseline = new Baseline(frames);
+                    for (int page : pages) baseline.access(page);
+                    int[] expected = sorted(baseline.memory.stream().mapToInt(Integer::intValue).toArray());
+                    for (Storage storage : Storage.values()) {
+                        LFUPolicy policy = new LFUPolicy(frames, storage);
+                        String where = frames + " frames, seed " + seed + ", " + storage;
+                        assertEquals(baseline.faults, TestTraces.faults(policy, pages), where);
+                        // The original keeps no slots, so compare the resident set
+                        assertArrayEquals(expected, sorted(TestTraces.frames(policy)), where);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void tiesGoToTheLeastRecentlyTouched() {
+        LFUPolicy policy = new LFUPolicy(3);
+        // 1, 2, 3 all used once: 1 was touched longest ago
+        TestTraces.faults(policy, new int[] {1, 2, 3, 4});
+        assertArrayEquals(new int[] {2, 3, 4}, sorted(TestTraces.frames(policy)));
+        // 2 and 3 reach frequency 2, 3 first; 4 is alone at 1 and goes before either
+        TestTraces.faults(policy, new int[] {3, 2, 5});
+        assertArrayEquals(new int[] {2, 3, 5}, sorted(TestTraces.frames(policy)));
+        // 5 climbs to 2 last, so 3 (touched earliest at frequency 2) is the victim
+        TestTraces.faults(policy, new int[] {5, 6});
+        assertArrayEquals(new int[] {2, 5, 6}, sorted(TestTraces.frames(policy)));
+    }
+}
@@ -0,0 +1,67 @@
+package LIRS;
+
+import engine.TestTraces;
+import org.junit.jupiter.api.Test;
+
+import static LIRS.LIRSPolicy.HIR_NONRESIDENT;
+import static LIRS.LIRSPolicy.HIR_RESIDENT;
+import static LIRS.LIRSPolicy.LIR;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LIRSPolicyTest {
+
+    @Test
+    void statusFollowsReuseDistance() {
+        // Three frames: two LIR pages and one resident HIR page, as in the paper's example
+        LIRSPolicy lirs = new LIRSPolicy(3);
+        for (int page : new int[] {1, 2, 3}) assertFalse(lirs.access(page));
+        assertEquals(LIR, lirs.statusOf(1));
+        assertEquals(LIR, lirs.statusOf(2));
+        assertEquals(HIR_RESIDENT, lirs.statusOf(3));
+
+        // 4 takes the only HIR frame; 3 stays in the stack as a non-resident entry
+        assertFalse(lirs.access(4));
+        assertEquals(HIR_NONRESIDENT, lirs.statusOf(3));
+        assertEquals(HIR_RESIDENT, lirs.statusOf(4));
+
+        // 3 comes back while still in the stack: it becomes LIR and the oldest LIR page (1) is demoted
+        assertFalse(lirs.access(3));
+        assertEquals(LIR, lirs.statusOf(3));
+        assertEquals(HIR_RESIDENT, lirs.statusOf(1));
+        assertEquals(HIR_NONRESIDENT, lirs.statusOf(4));
+        assertArrayEquals(new int[] {3, 2, 1}, TestTraces.frames(lirs));
+
+        // 1 was demoted out of the stack, so this hit keeps it HIR
+        assertTrue(lirs.access(1));
+        assertEquals(HIR_RESIDENT, lirs.statusOf(1));
+
+        // Touching the bottom LIR page prunes the stale entry for 4
+        assertTrue(lirs.access(2));
+        assertEquals(-1, lirs.statusOf(4));
+
+        // 1 is now in the stack above 3, the bottom LIR page, so they swap
+        assertTrue(lirs.access(1));
+        assertEquals(LIR, lirs.statusOf(1));
+        assertEquals(LIR, lirs.statusOf(2));
+        assertEquals(HIR_RESIDENT, lirs.statusOf(3));
+        assertArrayEquals(new int[] {1, 2, 3}, TestTraces.frames(lirs));
+    }
+
+    @Test
+    void aScanDoesNotDisturbTheLirSet() {
+        int frames = 100;
+        LIRSPolicy lirs = new LIRSPolicy(frames);
+        for (int round = 0; round < 2; round++) {
+            for (int page = 0; page < 99; page++) lirs.access(page);
+        }
+        // One-shot pages only ever cycle through the single HIR frame
+        for (int page = 1000; page < 2000; page++) assertFalse(lirs.access(page));
+        for (int page = 0; page < 99; page++) {
+            assertEquals(LIR, lirs.statusOf(page));
+            assertTrue(lirs.access(page), "LIR page " + page);
+        }
+    }
+}
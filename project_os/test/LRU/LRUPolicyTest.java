@@ -0,0 +1,88 @@
+package LRU;
+
+import engine.TestTraces;
+import org.junit.jupiter.api.Test;
+import utils.Storage;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LRUPolicyTest {
+
+    /** The original list-and-timestamp simulateLRU, without the printing. */
+    private static final class Baseline {
+        final List<Integer> frames = new ArrayList<>();
+        final Map<Integer, Integer> lastUsedTime = new HashMap<>();
+        final int capacity;
+        int faults = 0;
+        int timer = 0;
+
+        Baseline(int capacity) {
+            this.capacity = capacity;
+        }
+
+        void access(int page) {
+            timer++;
+            if (frames.contains(page)) {
+                lastUsedTime.put(page, timer);
+                return;
+            }
+            faults++;
+            if (frames.size() < capacity) {
+                frames.add(page);
+            } else {
+                int victimIndex = -1;
+                int minTime = Integer.MAX_VALUE;
+                for (int i = 0; i < frames.size(); i++) {
+                    int lastUsed = lastUsedTime.get(frames.get(i));
+                    if (lastUsed < minTime) {
+                        minTime = lastUsed;
+                        victimIndex = i;
+                    }
+                }
+                lastUsedTime.remove(frames.get(victimIndex));
+                frames.set(victimIndex, page);
+            }
+            lastUsedTime.put(page, timer);
+        }
+
+        int[] frames() {
+            return frames.stream().mapToInt(Integer::intValue).toArray();
+        }
+    }
+
+    @Test
+    void matchesTheOriginalSimulation() {
+        for (int frames : new int[] {1, 2, 3, 7, 16, 64}) {
+            for (long seed = 1; seed <= 3; seed++) {
+                for (int[] pages : TestTraces.mixed(frames, seed)) {
+                    Baseline baseline = new Baseline(frames);
+                    for (int page : pages) baseline.access(page);
+                    for (Storage storage : Storage.values()) {
+                        LRUPolicy policy = new LRUPolicy(frames, storage);
+                        String where = frames + " frames, seed " + seed + ", " + storage;
+                        assertEquals(baseline.faults, TestTraces.faults(policy, pages), where);
+                        assertArrayEquals(baseline.frames(), TestTraces.frames(policy), where);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void legacyCacheMatchesTheEngine() {
+        for (int frames : new int[] {1, 3, 16}) {
+            for (int[] pages : TestTraces.mixed(frames, 7)) {
+                LRUCache legacy = new LRUCache(frames);
+                LRUPolicy policy = new LRUPolicy(frames);
+                assertEquals(TestTraces.faults(policy, pages), TestTraces.faults(legacy, pages));
+                assertEquals(policy.getFrameState(), legacy.getFrameState());
+            }
+        }
+    }
+}
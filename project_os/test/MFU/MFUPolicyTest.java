@@ -0,0 +1,89 @@
+package MFU;
+
+import engine.TestTraces;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MFUPolicyTest {
+
+    /** The original list scan of simulateMFU, without the printing. */
+    private static final class Baseline {
+        final List<Integer> frames = new ArrayList<>();
+        final Map<Integer, Integer> frequency = new HashMap<>();
+        final Map<Integer, Integer> arrival = new HashMap<>();
+        final int capacity;
+        int faults = 0;
+        int timer = 0;
+
+        Baseline(int capacity) {
+            this.capacity = capacity;
+        }
+
+        void access(int page) {
+            timer++;
+            if (frames.contains(page)) {
+                frequency.put(page, frequency.get(page) + 1);
+                return;
+            }
+            faults++;
+            if (frames.size() < capacity) {
+                frames.add(page);
+            } else {
+                int victim = 0;
+                int maxFreq = -1;
+                for (int i = 0; i < frames.size(); i++) {
+                    int freq = frequency.get(frames.get(i));
+                    if (freq > maxFreq) {
+                        maxFreq = freq;
+                        victim = i;
+                    } else if (freq == maxFreq && arrival.get(frames.get(i)) < arrival.get(frames.get(victim))) {
+                        victim = i;
+                    }
+                }
+                frequency.remove(frames.get(victim));
+                arrival.remove(frames.get(victim));
+                frames.set(victim, page);
+            }
+            frequency.put(page, 1);
+            arrival.put(page, timer);
+        }
+
+        int[] frames() {
+            return frames.stream().mapToInt(Integer::intValue).toArray();
+        }
+    }
+
+    @Test
+    void matchesTheOriginalSimulation() {
+        for (int frames : new int[] {1, 2, 3, 7, 16, 64}) {
+            for (long seed = 1; seed <= 3; seed++) {
+                for (int[] pages : TestTraces.mixed(frames, seed)) {
+                    Baseline baseline = new Baseline(frames);
+                    for (int page : pages) baseline.access(page);
+                    MFUPolicy policy = new MFUPolicy(frames);
+                    String where = frames + " frames, seed " + seed;
+                    assertEquals(baseline.faults, TestTraces.faults(policy, pages), where);
+                    assertArrayEquals(baseline.frames(), TestTraces.frames(policy), where);
+                }
+            }
+        }
+    }
+
+    @Test
+    void tiesGoToTheEarliestArrival() {
+        MFUPolicy policy = new MFUPolicy(3);
+        // 1, 2, 3 all used once: the earliest arrival (1) goes first
+        TestTraces.faults(policy, new int[] {1, 2, 3, 4});
+        assertArrayEquals(new int[] {4, 2, 3}, TestTraces.frames(policy));
+        // 2 and 3 now used twice: a tie at the top, 2 arrived first
+        TestTraces.faults(policy, new int[] {3, 2, 5});
+        assertArrayEquals(new int[] {4, 5, 3}, TestTraces.frames(policy));
+    }
+}
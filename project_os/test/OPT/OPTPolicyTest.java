@@ -0,0 +1,60 @@
+package OPT;
+
+import engine.PolicyType;
+import engine.TestTraces;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OPTPolicyTest {
+
+    @Test
+    void textbookReferenceString() {
+        // Silberschatz et al.: 9 faults with three frames (LRU takes 12, FIFO 15)
+        int[] pages = {7, 0, 1, 2, 0, 3, 0, 4, 2, 3, 0, 3, 2, 1, 2, 0, 1, 7, 0, 1};
+        assertEquals(9, TestTraces.faults(new OPTPolicy(3, pages), pages));
+        assertEquals(12, TestTraces.faults(PolicyType.LRU.create(3), pages));
+        assertEquals(15, TestTraces.faults(PolicyType.FIFO.create(3), pages));
+    }
+
+    @Test
+    void beladysStringHasNoAnomaly() {
+        int[] pages = {1, 2, 3, 4, 1, 2, 5, 1, 2, 3, 4, 5};
+        assertEquals(7, TestTraces.faults(new OPTPolicy(3, pages), pages));
+        assertEquals(6, TestTraces.faults(new OPTPolicy(4, pages), pages));
+    }
+
+    @Test
+    void nextUsePointsAtTheFollowingReference() {
+        int[] nextUse = OPTPolicy.buildNextUse(new int[] {5, 6, 5, 7, 6, 5});
+        int never = OPTPolicy.NEVER;
+        assertArrayEquals(new int[] {2, 4, 5, never, never, never}, nextUse);
+    }
+
+    @Test
+    void neverFaultsMoreThanAnOnlinePolicy() {
+        for (int frames : new int[] {1, 2, 3, 7, 16, 64}) {
+            for (long seed = 1; seed <= 3; seed++) {
+                for (int[] pages : TestTraces.mixed(frames, seed)) {
+                    long optimal = TestTraces.faults(new OPTPolicy(frames, pages), pages);
+                    for (PolicyType type : PolicyType.online()) {
+                        long faults = TestTraces.faults(type.create(frames), pages);
+                        assertTrue(optimal <= faults,
+                                type.getDisplayName() + ", " + frames + " frames, seed " + seed
+                                        + ": OPT " + optimal + " > " + faults);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void rejectsAnotherReferenceString() {
+        OPTPolicy policy = new OPTPolicy(2, new int[] {1, 2, 3});
+        policy.access(1);
+        assertThrows(IllegalStateException.class, () -> policy.access(3));
+    }
+}
@@ -0,0 +1,48 @@
+package TwoQ;
+
+import engine.TestTraces;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TwoQPolicyTest {
+
+    @Test
+    void onlyA1outHitsArePromoted() {
+        // Four frames: A1in keeps one page once memory is full, A1out remembers two
+        TwoQPolicy twoQ = new TwoQPolicy(4);
+        for (int page : new int[] {1, 2, 3, 4, 5}) assertFalse(twoQ.access(page));
+        // 1 was pushed from A1in to A1out; A1in lists newest first
+        assertArrayEquals(new int[] {5, 4, 3, 2}, TestTraces.frames(twoQ));
+
+        // A hit in A1in is a correlated reference and promotes nothing
+        assertTrue(twoQ.access(2));
+        assertArrayEquals(new int[] {5, 4, 3, 2}, TestTraces.frames(twoQ));
+
+        // A1out hits fault and enter Am, each pushing the oldest A1in page to A1out
+        assertFalse(twoQ.access(1));
+        assertArrayEquals(new int[] {5, 4, 3, 1}, TestTraces.frames(twoQ));
+        assertFalse(twoQ.access(2));
+        assertArrayEquals(new int[] {5, 4, 2, 1}, TestTraces.frames(twoQ));
+
+        // A scan cycles through A1in and forgets the oldest A1out IDs (3, then 4)
+        for (int page : new int[] {6, 7, 8}) assertFalse(twoQ.access(page));
+        assertArrayEquals(new int[] {8, 7, 2, 1}, TestTraces.frames(twoQ));
+        assertTrue(twoQ.access(1));
+        assertTrue(twoQ.access(2));
+
+        // 3 is no longer remembered, so it starts over in A1in rather than Am
+        assertFalse(twoQ.access(3));
+        assertArrayEquals(new int[] {3, 8, 2, 1}, TestTraces.frames(twoQ));
+
+        // 6 is still in A1out and is promoted; A1in is over its quota, so its oldest page (8) makes room
+        assertFalse(twoQ.access(6));
+        assertArrayEquals(new int[] {3, 6, 2, 1}, TestTraces.frames(twoQ));
+
+        // With A1in at its quota, the next newcomer evicts Am's LRU page (1) instead
+        assertFalse(twoQ.access(9));
+        assertArrayEquals(new int[] {9, 3, 6, 2}, TestTraces.frames(twoQ));
+    }
+}
@@ -0,0 +1,41 @@
+package cache;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class StripedCacheTest {
+
+    @Test
+    void bufferedReadsOfARemovedKeyDoNotCountForTheKeyReusingItsSlot() {
+        StripedCache<String, Integer> cache = new StripedCache<>(2, Eviction.LFU, 1);
+        cache.put("a", 1);
+        cache.put("b", 2);
+        // Buffered, not yet applied: the ring holds far more than three reads
+        for (int i = 0; i < 3; i++) cache.get("a");
+        cache.remove("a");
+        // The loader path inserts "c" into the slot "a" just gave up
+        cache.get("c", key -> 3);
+        cache.get("b");
+        cache.cleanUp();
+
+        // "c" was never read (frequency 1), "b" once (frequency 2): LFU must drop "c"
+        cache.put("d", 4);
+        assertNull(cache.get("c"));
+        assertEquals(2, cache.get("b"));
+        assertEquals(4, cache.get("d"));
+    }
+
+    @Test
+    void pendingReadsCountWhenTheLoaderPathEvicts() {
+        StripedCache<String, Integer> cache = new StripedCache<>(2, Eviction.LFU, 1);
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.get("a");
+        // No write has drained the read of "a" yet; the eviction must still see it
+        cache.get("c", key -> 3);
+        assertNull(cache.get("b"));
+        assertEquals(1, cache.get("a"));
+    }
+}
@@ -0,0 +1,107 @@
+package checkpoint;
+
+import Clock.ClockPolicy;
+import FIFO.FIFOPolicy;
+import LFU.LFUPolicy;
+import LRU.LRUPolicy;
+import engine.ReplacementPolicy;
+import engine.SimulationDriver;
+import engine.SimulationResult;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import trace.TraceSource;
+import utils.Storage;
+import workload.WorkloadSpec;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CheckpointTest {
+
+    @TempDir
+    Path dir;
+
+    private Checkpoint checkpointOn(String spec, String trace, long length) throws IOException {
+        Path file = dir.resolve("run.ck");
+        try (TraceSource source = WorkloadSpec.parse(spec, length, 1).open();
+             Checkpointer checkpoints = new Checkpointer(file, 10_000, trace)) {
+            SimulationDriver.runAll(new ReplacementPolicy[] {new LRUPolicy(64)}, source, checkpoints, null);
+        }
+        return Checkpoint.read(file);
+    }
+
+    @Test
+    void resumeRefusesAnotherTrace() throws IOException {
+        Checkpoint checkpoint = checkpointOn("zipf:1000:0.9", "zipf", 50_000);
+        try (TraceSource other = WorkloadSpec.parse("uniform:5000", 80_000, 1).open()) {
+            assertThrows(IllegalArgumentException.class, () -> checkpoint.skip(other, "uniform"));
+        }
+    }
+
+    @Test
+    void resumeRefusesATraceWithADifferentPrefix() throws IOException {
+        Checkpoint checkpoint = checkpointOn("zipf:1000:0.9", "trace", 50_000);
+        // Same identity, different references: only the prefix hash can tell
+        try (TraceSource other = WorkloadSpec.parse("uniform:5000", 80_000, 1).open()) {
+            assertThrows(IllegalArgumentException.class, () -> checkpoint.skip(other, "trace"));
+        }
+    }
+
+    @Test
+    void resumedRunMatchesAnUninterruptedOneAndKeepsEarlierTime() throws IOException {
+        Checkpoint checkpoint = checkpointOn("zipf:1000:0.9", "zipf", 50_000);
+        SimulationResult[] resumed;
+        try (TraceSource source = WorkloadSpec.parse("zipf:1000:0.9", 80_000, 1).open();
+             Checkpointer checkpoints = new Checkpointer(dir.resolve("run.ck"), 10_000, "zipf")) {
+            ReplacementPolicy[] policies = {new LRUPolicy(64)};
+            checkpoint.skip(source, "zipf");
+            checkpoint.restore(policies);
+            resumed = SimulationDriver.runAll(policies, source, checkpoints, checkpoint);
+        }
+        SimulationResult[] full;
+        try (TraceSource source = WorkloadSpec.parse("zipf:1000:0.9", 80_000, 1).open()) {
+            full = SimulationDriver.runAll(new ReplacementPolicy[] {new LRUPolicy(64)}, source);
+        }
+        assertEquals(full[0].getPageFaults(), resumed[0].getPageFaults());
+        assertEquals(80_000, resumed[0].getTotalRequests());
+        assertTrue(resumed[0].getElapsedNanos() >= checkpoint.getElapsedNanos());
+    }
+
+    private static ReplacementPolicy[] slotPolicies(Storage storage) {
+        return new ReplacementPolicy[] {new ClockPolicy(100, storage), new LFUPolicy(100, storage),
+                new LRUPolicy(100, storage), new FIFOPolicy(100, storage)};
+    }
+
+    @Test
+    void offHeapPoliciesResumeLikeHeapOnes() throws IOException {
+        Path file = dir.resolve("offheap.ck");
+        try (TraceSource source = WorkloadSpec.parse("zipf:1000:0.9", 50_000, 1).open();
+             Checkpointer checkpoints = new Checkpointer(file, 10_000, "zipf")) {
+            SimulationDriver.runAll(slotPolicies(Storage.OFF_HEAP), source, checkpoints, null);
+        }
+        Checkpoint checkpoint = Checkpoint.read(file);
+
+        // Same layout either way: resume the off-heap state on the heap, and vice versa
+        for (Storage storage : Storage.values()) {
+            SimulationResult[] resumed;
+            try (TraceSource source = WorkloadSpec.parse("zipf:1000:0.9", 80_000, 1).open();
+                 Checkpointer checkpoints = new Checkpointer(dir.resolve("again.ck"), 10_000, "zipf")) {
+                ReplacementPolicy[] policies = slotPolicies(storage);
+                checkpoint.skip(source, "zipf");
+                checkpoint.restore(policies);
+                resumed = SimulationDriver.runAll(policies, source, checkpoints, checkpoint);
+            }
+            SimulationResult[] full;
+            try (TraceSource source = WorkloadSpec.parse("zipf:1000:0.9", 80_000, 1).open()) {
+                full = SimulationDriver.runAll(slotPolicies(Storage.HEAP), source);
+            }
+            for (int i = 0; i < full.length; i++) {
+                assertEquals(full[i].getPageFaults(), resumed[i].getPageFaults(), full[i].getPolicyName());
+            }
+        }
+    }
+}
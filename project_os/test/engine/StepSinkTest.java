@@ -0,0 +1,55 @@
+package engine;
+
+import LRU.LRUPolicy;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+class StepSinkTest {
+
+    /** Fails every write, like a full disk. */
+    private static final class FailingStream extends OutputStream {
+        @Override
+        public void write(int b) throws IOException {
+            throw new IOException("No space left on device");
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            throw new IOException("No space left on device");
+        }
+    }
+
+    @Test
+    void writeFailureStopsTheRunInsteadOfHanging() {
+        assertTimeoutPreemptively(Duration.ofSeconds(30), () -> {
+            // Enough steps to fill the whole batch pool many times over
+            int[] pages = new int[2_000_000];
+            for (int i = 0; i < pages.length; i++) pages[i] = i % 100;
+            ReplacementPolicy[] policies = {new LRUPolicy(64)};
+
+            StepSink sink = new StepSink(StepSink.Level.FULL, 1, new String[] {"LRU"}, new FailingStream());
+            assertThrows(UncheckedIOException.class, () -> {
+                try (sink) {
+                    SimulationDriver.runAll(policies, PageStream.of(pages), sink);
+                }
+            });
+        });
+    }
+
+    @Test
+    void closeReportsAFailureAfterTheLastBatch() {
+        assertTimeoutPreemptively(Duration.ofSeconds(30), () -> {
+            StepSink sink = new StepSink(StepSink.Level.FULL, 1, new String[] {"LRU"}, new FailingStream());
+            LRUPolicy policy = new LRUPolicy(4);
+            sink.record(0, 0, 1, policy.access(1), policy);
+            assertThrows(UncheckedIOException.class, sink::close);
+        });
+    }
+}
@@ -0,0 +1,50 @@
+package engine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/** Seeded reference strings shared by the policy tests. */
+public final class TestTraces {
+
+    private TestTraces() {
+    }
+
+    /** Uniform, skewed and looping strings over a universe of about twice {@code frames} pages. */
+    public static List<int[]> mixed(int frames, long seed) {
+        Random random = new Random(seed);
+        int universe = 2 * frames + 1;
+        int length = 40 * frames + 200;
+        int[] uniform = new int[length];
+        int[] skewed = new int[length];
+        int[] looping = new int[length];
+        for (int i = 0; i < length; i++) {
+            uniform[i] = random.nextInt(universe);
+            // Product of two uniforms: low page IDs are much hotter
+            skewed[i] = (int) (random.nextDouble() * random.nextDouble() * universe);
+            looping[i] = i % (frames + 1 + (int) (seed % 3));
+        }
+        List<int[]> traces = new ArrayList<>();
+        traces.add(uniform);
+        traces.add(skewed);
+        traces.add(looping);
+        return traces;
+    }
+
+    /** Faults of a policy over a whole string. */
+    public static long faults(ReplacementPolicy policy, int[] pages) {
+        long faults = 0;
+        for (int page : pages) {
+            if (!policy.access(page)) faults++;
+        }
+        return faults;
+    }
+
+    /** Resident pages in frame order. */
+    public static int[] frames(ReplacementPolicy policy) {
+        int[] frames = new int[policy.getFrameCount()];
+        int n = policy.copyFrames(frames, 0, frames.length);
+        return Arrays.copyOf(frames, n);
+    }
+}
@@ -0,0 +1,43 @@
+package utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class IntIntMapTest {
+
+    @Test
+    void matchesAHashMapThroughGrowthAndRemoval() {
+        // Sized far too small, so the table doubles several times
+        IntIntMap map = new IntIntMap(2);
+        Map<Integer, Integer> expected = new HashMap<>();
+        Random random = new Random(11);
+        for (int i = 0; i < 50_000; i++) {
+            int key = random.nextInt(2_000);
+            if (random.nextInt(3) == 0) {
+                Integer old = expected.remove(key);
+                assertEquals(old == null ? IntIntTable.MISSING : old, map.remove(key));
+            } else {
+                int value = random.nextInt(Integer.MAX_VALUE);
+                expected.put(key, value);
+                map.put(key, value);
+            }
+        }
+        assertEquals(expected.size(), map.size());
+        for (int key = 0; key < 2_000; key++) {
+            assertEquals(expected.getOrDefault(key, IntIntTable.MISSING), map.get(key), "key " + key);
+        }
+    }
+
+    @Test
+    void rejectsMoreKeysThanATableCanHold() {
+        // These used to overflow the capacity computation into a negative array size
+        assertThrows(IllegalArgumentException.class, () -> new IntIntMap(Integer.MAX_VALUE));
+        assertThrows(IllegalArgumentException.class, () -> new IntIntMap(IntIntMap.MAX_SIZE + 1));
+    }
+}